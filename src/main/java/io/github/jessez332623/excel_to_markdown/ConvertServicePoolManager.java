@@ -1,8 +1,27 @@
 package io.github.jessez332623.excel_to_markdown;
 
 import io.github.jessez332623.excel_to_markdown.exception.exports.ScriptWorkerException;
+import io.github.jessez332623.excel_to_markdown.model.ArchiveEntryResult;
+import io.github.jessez332623.excel_to_markdown.model.ConvertOptions;
+import io.github.jessez332623.excel_to_markdown.model.ConvertSinkResult;
+import io.github.jessez332623.excel_to_markdown.model.TableDocument;
+import io.github.jessez332623.excel_to_markdown.utils.ArchiveConverter;
+import io.github.jessez332623.excel_to_markdown.utils.DestinationFiles;
+import io.github.jessez332623.excel_to_markdown.utils.FileExtensionChecker;
+import io.github.jessez332623.excel_to_markdown.utils.TableContentValidator;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
 
 /** Excel 表格转 Markdown Python 服务池管理器接口。*/
 public interface ConvertServicePoolManager
@@ -23,4 +42,292 @@ public interface ConvertServicePoolManager
         // 避免使用者禁用依赖的时候出现注入错误。
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * 开放的执行转换接口 Excel -> Markdown（按选项筛选工作表、限制行数）。
+     *
+     * @param tablePath 表格文件路径
+     * @param options   转换选项（为空时完整转换）
+     *
+     * @return 转换完成后的 Markdown 文本
+     *
+     * @throws ScriptWorkerException 服务启动失败，转换失败最终抛出本异常
+     */
+    default String
+    convertTableToMarkdown(Path tablePath, ConvertOptions options) throws ScriptWorkerException
+    {
+        // 默认实现不支持转换选项，退化为完整转换
+        return this.convertTableToMarkdown(tablePath);
+    }
+
+    /**
+     * 开放的执行转换接口 Excel -> Markdown（工作表级别的增量转换），
+     * 同一份工作簿修订后再次转换时，只有内容发生变化的工作表才交给服务转换，其余工作表取自之前的转换结果。
+     *
+     * @param tablePath 表格文件路径
+     *
+     * @return 转换完成后的 Markdown 文本
+     *
+     * @throws ScriptWorkerException 服务启动失败，转换失败最终抛出本异常
+     */
+    default String
+    convertTableToMarkdownIncrementally(Path tablePath) throws ScriptWorkerException
+    {
+        // 默认实现不保存之前的转换结果，退化为完整转换
+        return this.convertTableToMarkdown(tablePath);
+    }
+
+    /**
+     * 开放的执行转换接口 Excel -> 列式表格，
+     * 服务直接写出带类型的列式编码，下游按列读取单元格，无需再解析 Markdown 文本。
+     *
+     * @param tablePath 表格文件路径
+     *
+     * @return 转换完成后的列式表格（需要文本时调用 {@link TableDocument#toMarkdown()}）
+     *
+     * @throws ScriptWorkerException 服务启动失败，转换失败最终抛出本异常
+     */
+    default TableDocument
+    convertTableToDocument(Path tablePath) throws ScriptWorkerException {
+        return this.convertTableToDocument(tablePath, null);
+    }
+
+    /**
+     * 开放的执行转换接口 Excel -> 列式表格（按选项筛选工作表、限制行数）。
+     *
+     * @param tablePath 表格文件路径
+     * @param options   转换选项（为空时完整转换）
+     *
+     * @return 转换完成后的列式表格（需要文本时调用 {@link TableDocument#toMarkdown()}）
+     *
+     * @throws ScriptWorkerException 服务启动失败，转换失败最终抛出本异常
+     */
+    default TableDocument
+    convertTableToDocument(Path tablePath, ConvertOptions options) throws ScriptWorkerException
+    {
+        // 与 convertTableToMarkdown(Path) 一样给一个安全的默认实现
+        return null;
+    }
+
+    /**
+     * 开放的执行转换接口 Excel -> Markdown（直接接收表格文件内容）。
+     *
+     * @param tableBytes 表格文件内容
+     * @param fileName   原始文件名（需带扩展名）
+     *
+     * @return 转换完成后的 Markdown 文本
+     *
+     * @throws ScriptWorkerException 服务启动失败，转换失败最终抛出本异常
+     */
+    default String
+    convertTableToMarkdown(byte[] tableBytes, String fileName) throws ScriptWorkerException
+    {
+        // 默认实现：落地成临时文件后复用按路径转换的接口
+        Path temp = null;
+
+        try
+        {
+            temp = Files.createTempFile(
+                "table_upload",
+                FileExtensionChecker.extractFileExtension(fileName)
+            );
+
+            Files.write(temp, tableBytes);
+
+            return this.convertTableToMarkdown(temp);
+        }
+        catch (IOException | IllegalArgumentException exception)
+        {
+            throw new
+            ScriptWorkerException(
+                String.format(
+                    "Write table into temp file failed! Caused by: %s",
+                    exception.getMessage()
+                ),
+                exception
+            );
+        }
+        finally
+        {
+            if (temp != null)
+            {
+                try { Files.deleteIfExists(temp); }
+                catch (IOException ignore) {}
+            }
+        }
+    }
+
+    /**
+     * 开放的执行转换接口 ZIP 压缩包 -> Markdown，
+     * 压缩包中扩展名受支持的表格条目读入内存后，以字节数组的形式并发交给服务池转换
+     * （经由 {@link #convertTableToMarkdown(byte[], String)}，由服务池决定是否落地成临时文件）。
+     *
+     * @param archivePath ZIP 压缩包路径
+     *
+     * @return 按条目在压缩包中的顺序排列的转换结果（单个条目失败不影响其他条目）
+     *
+     * @throws ScriptWorkerException 压缩包损坏，条目数量或解压后大小超出限制时抛出本异常
+     */
+    default List<ArchiveEntryResult>
+    convertArchiveToMarkdown(Path archivePath) throws ScriptWorkerException
+    {
+        return new
+        ArchiveConverter(
+            this, Runtime.getRuntime().availableProcessors(),
+            TableContentValidator.Limits.defaults()
+        ).convert(archivePath);
+    }
+
+    /**
+     * 开放的执行转换接口 ZIP 压缩包 -> Markdown（边读取输入流边转换，本方法不会关闭该流）。
+     *
+     * @param archiveStream ZIP 压缩包输入流
+     *
+     * @return 按条目在压缩包中的顺序排列的转换结果（单个条目失败不影响其他条目）
+     *
+     * @throws ScriptWorkerException 压缩包损坏，条目数量或解压后大小超出限制时抛出本异常
+     */
+    default List<ArchiveEntryResult>
+    convertArchiveToMarkdown(InputStream archiveStream) throws ScriptWorkerException
+    {
+        return new
+        ArchiveConverter(
+            this, Runtime.getRuntime().availableProcessors(),
+            TableContentValidator.Limits.defaults()
+        ).convert(archiveStream);
+    }
+
+    /**
+     * 开放的执行转换接口 Excel -> Markdown，转换结果直接写入目标文件。
+     *
+     * @param tablePath   表格文件路径
+     * @param destination 目标文件路径（已存在则在转换成功后整体替换，转换失败时保持原样）
+     *
+     * @return 写入字节数、工作表数量与耗时等元数据
+     *
+     * @throws ScriptWorkerException 服务启动失败，转换失败，写入目标失败最终抛出本异常
+     */
+    default ConvertSinkResult
+    convertTableToMarkdown(Path tablePath, Path destination) throws ScriptWorkerException
+    {
+        final Path destinationAbsolutePath
+            = destination.toAbsolutePath().normalize();
+
+        Path temp = null;
+
+        try
+        {
+            temp = DestinationFiles.createSibling(destinationAbsolutePath);
+
+            final ConvertSinkResult result;
+
+            try (WritableByteChannel channel
+                     = Files.newByteChannel(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+            {
+                result = this.convertTableToMarkdown(tablePath, channel);
+            }
+
+            if (result != null)
+            {
+                DestinationFiles.commit(temp, destinationAbsolutePath);
+                temp = null;
+            }
+
+            return result;
+        }
+        catch (IOException exception)
+        {
+            throw new
+            ScriptWorkerException(
+                String.format(
+                    "Write markdown into %s failed! Caused by: %s",
+                    destination, exception.getMessage()
+                ),
+                exception
+            );
+        }
+        finally {
+            DestinationFiles.discard(temp);
+        }
+    }
+
+    /**
+     * 开放的执行转换接口 Excel -> Markdown，转换结果直接写入输出流（本方法不会关闭该流）。
+     *
+     * @param tablePath   表格文件路径
+     * @param destination 目标输出流
+     *
+     * @return 写入字节数、工作表数量与耗时等元数据
+     *
+     * @throws ScriptWorkerException 服务启动失败，转换失败，写入目标失败最终抛出本异常
+     */
+    default ConvertSinkResult
+    convertTableToMarkdown(Path tablePath, OutputStream destination) throws ScriptWorkerException
+    {
+        final ConvertSinkResult result
+            = this.convertTableToMarkdown(tablePath, Channels.newChannel(destination));
+
+        try { destination.flush(); }
+        catch (IOException exception)
+        {
+            throw new
+            ScriptWorkerException(
+                String.format("Flush markdown output failed! Caused by: %s", exception.getMessage()),
+                exception
+            );
+        }
+
+        return result;
+    }
+
+    /**
+     * 开放的执行转换接口 Excel -> Markdown，转换结果直接写入通道（本方法不会关闭该通道）。
+     *
+     * @param tablePath   表格文件路径
+     * @param destination 目标通道
+     *
+     * @return 写入字节数、工作表数量与耗时等元数据
+     *        （默认实现只拿到 Markdown 文本，工作表数量为 {@link ConvertSinkResult#UNKNOWN_SHEET_COUNT}）
+     *
+     * @throws ScriptWorkerException 服务启动失败，转换失败，写入目标失败最终抛出本异常
+     */
+    default ConvertSinkResult
+    convertTableToMarkdown(Path tablePath, WritableByteChannel destination) throws ScriptWorkerException
+    {
+        // 默认实现：先取得完整的 Markdown 文本，再写入目标
+        final long startTime = System.nanoTime();
+
+        final String markdown = this.convertTableToMarkdown(tablePath);
+
+        if (markdown == null) {
+            return null;
+        }
+
+        try
+        {
+            ByteBuffer buffer
+                = ByteBuffer.wrap(markdown.getBytes(StandardCharsets.UTF_8));
+
+            final long bytesWritten = buffer.remaining();
+
+            while (buffer.hasRemaining()) {
+                destination.write(buffer);
+            }
+
+            // 从 Markdown 文本推断不出工作表数量（CSV 没有工作表标题，单元格里也可能出现 “## ”）
+            return new
+            ConvertSinkResult(
+                bytesWritten, ConvertSinkResult.UNKNOWN_SHEET_COUNT,
+                Duration.ofNanos(System.nanoTime() - startTime)
+            );
+        }
+        catch (IOException exception)
+        {
+            throw new
+            ScriptWorkerException(
+                String.format("Write markdown output failed! Caused by: %s", exception.getMessage()),
+                exception
+            );
+        }
+    }
+}
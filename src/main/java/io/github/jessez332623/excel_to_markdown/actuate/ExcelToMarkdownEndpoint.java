@@ -0,0 +1,117 @@
+package io.github.jessez332623.excel_to_markdown.actuate;
+
+import io.github.jessez332623.excel_to_markdown.impl.DefaultConvertServicePoolManager;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 转换服务池的 Actuator 端点，不重启应用即可查看与调整服务池：
+ *
+ * <pre>
+ * GET  /actuator/excelToMarkdown                            查看每个服务的 PID、状态、完成次数、最近耗时与常驻内存
+ * POST /actuator/excelToMarkdown/resize   {"size": 8}       调整服务池大小
+ * POST /actuator/excelToMarkdown/recycle  {"pid": 12345}    滚动回收指定服务（不带 pid 时回收全部服务）
+ * </pre>
+ */
+@Endpoint(id = "excelToMarkdown")
+public class ExcelToMarkdownEndpoint
+{
+    /** 调整服务池大小的操作 */
+    private static final String RESIZE = "resize";
+
+    /** 滚动回收服务的操作 */
+    private static final String RECYCLE = "recycle";
+
+    private final DefaultConvertServicePoolManager poolManager;
+
+    public ExcelToMarkdownEndpoint(@NotNull DefaultConvertServicePoolManager poolManager) {
+        this.poolManager = poolManager;
+    }
+
+    /** 查看服务池与每个服务的运行状况。*/
+    @ReadOperation
+    public Map<String, Object>
+    pool()
+    {
+        final Map<String, Object> pool = new LinkedHashMap<>();
+
+        pool.put("poolSize", this.poolManager.getPoolSize());
+        pool.put("aliveWorkers", this.poolManager.getAliveWorkerCount());
+        pool.put("activeWorkers", this.poolManager.getActiveWorkerCount());
+        pool.put("workers", this.poolManager.getWorkerSnapshots());
+
+        return pool;
+    }
+
+    /**
+     * 调整服务池。
+     *
+     * @param action 操作：resize（需要 size）或 recycle（可选 pid）
+     * @param size   新的服务数量
+     * @param pid    要回收的服务 PID（为空时回收全部服务）
+     */
+    @WriteOperation
+    public Map<String, Object>
+    operate(@Selector String action, @Nullable Integer size, @Nullable Long pid)
+    {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("action", action);
+
+        try
+        {
+            switch (action)
+            {
+                case RESIZE ->
+                {
+                    if (Objects.isNull(size))
+                    {
+                        throw new
+                        InvalidEndpointRequestException(
+                            "Parameter 'size' is required to resize the pool!",
+                            "Missing parameter: size"
+                        );
+                    }
+
+                    result.put("workers", this.poolManager.resize(size));
+                }
+                case RECYCLE ->
+                {
+                    final int recycled = this.poolManager.recycle(pid);
+
+                    if (Objects.nonNull(pid) && recycled == 0)
+                    {
+                        throw new
+                        InvalidEndpointRequestException(
+                            String.format("No Python service with PID %d in the pool!", pid),
+                            "Unknown pid"
+                        );
+                    }
+
+                    result.put("recycled", recycled);
+                }
+                default ->
+                    throw new
+                    InvalidEndpointRequestException(
+                        String.format("Unknown action %s, only support resize and recycle!", action),
+                        "Unknown action"
+                    );
+            }
+        }
+        catch (IllegalArgumentException | IllegalStateException exception) {
+            throw new InvalidEndpointRequestException(exception.getMessage(), exception.getMessage());
+        }
+
+        result.put("poolSize", this.poolManager.getPoolSize());
+
+        return result;
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.jessez332623.excel_to_markdown.actuate;
+
+import io.github.jessez332623.excel_to_markdown.impl.DefaultConvertServicePoolManager;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * 转换服务池的健康检查：<br/>
+ * 没有存活的服务时为 DOWN，存活的服务少于下限时为 DEGRADED，否则为 UP。<br/>
+ * DEGRADED 是自定义状态，需要让它影响整体健康状态或 HTTP 状态码时，
+ * 配置 management.endpoint.health.status.order 与 http-mapping。
+ */
+public class ExcelToMarkdownHealthIndicator implements HealthIndicator
+{
+    /** 服务池降级状态 */
+    public static final Status DEGRADED = new Status("DEGRADED");
+
+    private final DefaultConvertServicePoolManager poolManager;
+
+    /** 存活服务数量的下限（小于等于 0 时以服务池的目标大小为下限）*/
+    private final int minAliveWorkers;
+
+    public ExcelToMarkdownHealthIndicator(
+        @NotNull DefaultConvertServicePoolManager poolManager,
+        int                                       minAliveWorkers
+    )
+    {
+        this.poolManager     = poolManager;
+        this.minAliveWorkers = minAliveWorkers;
+    }
+
+    @Override
+    public Health health()
+    {
+        final int poolSize     = this.poolManager.getPoolSize();
+        final int aliveWorkers = this.poolManager.getAliveWorkerCount();
+        final int threshold
+            = (this.minAliveWorkers > 0) ? this.minAliveWorkers : poolSize;
+
+        final Health.Builder builder
+            = (aliveWorkers == 0)
+                ? Health.down()
+                : Health.status((aliveWorkers < threshold) ? DEGRADED : Status.UP);
+
+        return
+        builder.withDetail("poolSize", poolSize)
+               .withDetail("aliveWorkers", aliveWorkers)
+               .withDetail("activeWorkers", this.poolManager.getActiveWorkerCount())
+               .withDetail("minAliveWorkers", threshold)
+               .build();
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.jessez332623.excel_to_markdown.autoconfigure;
+
+import io.github.jessez332623.excel_to_markdown.actuate.ExcelToMarkdownEndpoint;
+import io.github.jessez332623.excel_to_markdown.actuate.ExcelToMarkdownHealthIndicator;
+import io.github.jessez332623.excel_to_markdown.impl.DefaultConvertServicePoolManager;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 转换服务池的 Actuator 自动配置类，
+ * 只有在 Actuator 位于类路径上、且使用本地 Python 服务池时才生效。
+ */
+@Configuration
+@AutoConfigureAfter(ExcelToMarkdownAutoConfiguration.class)
+@ConditionalOnClass({ Endpoint.class, ConditionalOnAvailableEndpoint.class })
+@ConditionalOnBean(DefaultConvertServicePoolManager.class)
+public class ExcelToMarkdownActuatorAutoConfiguration
+{
+    /** 转换服务池的健康检查（management.health.excel-to-markdown.enabled=false 可以关闭）。*/
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnEnabledHealthIndicator("excel-to-markdown")
+    public ExcelToMarkdownHealthIndicator
+    excelToMarkdownHealthIndicator(
+        @NotNull DefaultConvertServicePoolManager poolManager,
+        @NotNull ExcelToMarkdownProperties        properties
+    )
+    {
+        return new
+        ExcelToMarkdownHealthIndicator(
+            poolManager, properties.getHealth().getMinAliveWorkers()
+        );
+    }
+
+    /** 转换服务池端点（需要通过 management.endpoints.web.exposure.include 暴露）。*/
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnAvailableEndpoint
+    public ExcelToMarkdownEndpoint
+    excelToMarkdownEndpoint(@NotNull DefaultConvertServicePoolManager poolManager) {
+        return new ExcelToMarkdownEndpoint(poolManager);
+    }
+}
@@ -2,12 +2,21 @@ package io.github.jessez332623.excel_to_markdown.autoconfigure;
 
 import io.github.jessez332623.excel_to_markdown.ConvertServicePoolManager;
 import io.github.jessez332623.excel_to_markdown.impl.DefaultConvertServicePoolManager;
+import io.github.jessez332623.excel_to_markdown.impl.RemoteConvertServicePoolManager;
+import io.github.jessez332623.excel_to_markdown.utils.ContainerResources;
+import io.github.jessez332623.excel_to_markdown.utils.IncrementalConverter;
+import io.github.jessez332623.excel_to_markdown.utils.SharedMemoryHandoff;
+import io.github.jessez332623.excel_to_markdown.utils.TableContentValidator;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.net.URI;
+import java.time.Duration;
 
 /** Excel -> Markdown 转换服务 Spring 自动配置类。*/
 @Configuration
@@ -18,24 +27,105 @@ import org.springframework.context.annotation.Configuration;
     matchIfMissing = false
 )
 @EnableConfigurationProperties(ExcelToMarkdownProperties.class)
+@ImportRuntimeHints(ExcelToMarkdownRuntimeHints.class)
 public class ExcelToMarkdownAutoConfiguration
 {
-    /** 最大服务进程数限制。*/
-    final static int MAX_PROCESS = 32;
-
     /**
-     * 按照 {@link ExcelToMarkdownProperties} 提供的配置，自动创建转换服务。
+     * 启用远程转换节点时，创建把请求分发到节点集群的转换服务（本地不再启动 Python 服务）。
      */
     @Bean
     @ConditionalOnMissingBean(ConvertServicePoolManager.class)
+    @ConditionalOnProperty(
+        prefix      = "app.excel-to-markdown.remote",
+        name        = "enabled",
+        havingValue = "true"
+    )
     public ConvertServicePoolManager
-    convertServicePoolManager(@NotNull ExcelToMarkdownProperties properties)
+    remoteConvertServicePoolManager(@NotNull ExcelToMarkdownProperties properties)
     {
+        final ExcelToMarkdownProperties.Remote remote = properties.getRemote();
+
         return new
-        DefaultConvertServicePoolManager(
-            Math.min(properties.getProcesses(), MAX_PROCESS),
-            properties.getDestroy().getMaxWaitSeconds(),
-            properties.getDestroy().getWaitIntervalMillis()
+        RemoteConvertServicePoolManager(
+            remote.getNodes().stream().map(URI::create).toList(),
+            Duration.ofSeconds(remote.getRequestTimeoutSeconds()),
+            Duration.ofMillis(remote.getHealthCheckIntervalMillis())
         );
     }
+
+    /**
+     * 按照 {@link ExcelToMarkdownProperties} 提供的配置，自动创建转换服务（未启用远程转换节点时）。
+     */
+    @Bean
+    @ConditionalOnMissingBean(ConvertServicePoolManager.class)
+    @ConditionalOnProperty(
+        prefix         = "app.excel-to-markdown.remote",
+        name           = "enabled",
+        havingValue    = "false",
+        matchIfMissing = true
+    )
+    public DefaultConvertServicePoolManager
+    convertServicePoolManager(@NotNull ExcelToMarkdownProperties properties)
+    {
+        final int maxProcesses
+            = Math.max(properties.getMaxProcesses(), 1);
+
+        // 未显式配置进程数时，根据容器资源推算
+        final int processes
+            = (properties.getProcesses() > 0)
+                ? Math.min(properties.getProcesses(), maxProcesses)
+                : ContainerResources.recommendedProcesses(
+                    properties.getExpectedWorkerRssMb() * 1024L * 1024L, maxProcesses
+                );
+
+        DefaultConvertServicePoolManager poolManager
+            = new DefaultConvertServicePoolManager(
+                processes,
+                properties.getDestroy().getMaxWaitSeconds()
+            );
+
+        poolManager.setLifecyclePhase(properties.getDestroy().getLifecyclePhase());
+        poolManager.setCpuAffinity(properties.isCpuAffinity());
+        poolManager.setFastPath(properties.isFastPath());
+
+        if (properties.getValidation().isEnabled())
+        {
+            final ExcelToMarkdownProperties.Validation validation
+                = properties.getValidation();
+
+            poolManager.setTableContentValidator(
+                new TableContentValidator(
+                    new TableContentValidator.Limits(
+                        validation.getMaxFileSizeMb() * 1024L * 1024L,
+                        validation.getMaxExpandedSizeMb() * 1024L * 1024L,
+                        validation.getMaxZipEntries(),
+                        validation.getMaxCompressionRatio(),
+                        validation.getMaxCells()
+                    )
+                )
+            );
+        }
+
+        if (properties.getIncremental().isEnabled())
+        {
+            poolManager.setIncrementalConverter(
+                new IncrementalConverter(
+                    properties.getIncremental().getMaxCachedMegaChars() * 1_000_000L
+                )
+            );
+        }
+
+        if (properties.getSharedMemory().isEnabled())
+        {
+            poolManager.setSharedMemoryHandoff(
+                new SharedMemoryHandoff(
+                    SharedMemoryHandoff.resolveDirectory(
+                        properties.getSharedMemory().getDirectory()
+                    )
+                )
+            );
+        }
+
+        return poolManager;
+    }
 }
\ No newline at end of file
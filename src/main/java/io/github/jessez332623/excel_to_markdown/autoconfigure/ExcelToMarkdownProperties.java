@@ -1,9 +1,13 @@
 package io.github.jessez332623.excel_to_markdown.autoconfigure;
 
+import io.github.jessez332623.excel_to_markdown.impl.DefaultConvertServicePoolManager;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /** Spring 依赖自动配置属性类。*/
 @Data
 @ConfigurationProperties(prefix = "app.excel-to-markdown")
@@ -12,11 +16,40 @@ public class ExcelToMarkdownProperties
     /** 是否启动本服务？（默认不启用）*/
     private boolean enabled = false;
 
-    /** 服务最大进程数是？（默认为 4）*/
-    private int processes = 4;
+    /**
+     * 服务最大进程数是？
+     *（默认为 0，表示根据容器的 CPU 配额、内存上限与单进程预计常驻内存自动推算）
+     */
+    private int processes = 0;
+
+    /** 服务进程数的上限是？（默认为 32）*/
+    private int maxProcesses = 32;
+
+    /** 自动推算进程数时，单个服务进程预计的常驻内存是多少 MB？（默认为 256 MB）*/
+    private int expectedWorkerRssMb = 256;
+
+    /** 是否把每个服务进程绑定到一个 CPU 上运行？（仅 Linux，依赖 taskset，容器的 cpuset 比宿主机窄时才生效，默认不启用）*/
+    private boolean cpuAffinity = false;
+
+    /**
+     * 是否启用 Python 服务的快速路径？（默认不启用）
+     * 启用后 .xlsx / .xlsm 由 openpyxl 只读模式逐个工作表读取、输出，其余格式或快速路径打不开的表格仍交给 markitdown。
+     * 快速路径的输出与 markitdown 不完全一致（空单元格、表头行的处理不同），因此需要显式启用。
+     */
+    private boolean fastPath = false;
 
     private Destroy destroy = new Destroy();
 
+    private SharedMemory sharedMemory = new SharedMemory();
+
+    private Remote remote = new Remote();
+
+    private Validation validation = new Validation();
+
+    private Health health = new Health();
+
+    private Incremental incremental = new Incremental();
+
     /**
      * 在关闭服务池前，
      * 等待所有服务处理完手头的任务相关的属性。
@@ -28,7 +61,96 @@ public class ExcelToMarkdownProperties
         /** 最多给池中的服务多少时间去处理完手头的任务？（默认 15 秒）*/
         private int maxWaitSeconds = 15;
 
-        /** 每隔多久去检查池中服务的状态？（默认 500 毫秒）*/
+        /**
+         * 每隔多久去检查池中服务的状态？（默认 500 毫秒）
+         *
+         * @deprecated 排空服务池改为事件驱动，最后一个任务完成时立即关闭，本属性已不再使用。
+         */
+        @Deprecated
         private int waitIntervalMillis = 500;
+
+        /**
+         * 服务池在 Spring 生命周期中的阶段，阶段越大越早停止
+         *（默认位于 Web 服务器优雅关闭与停止之间，即先停止接收流量，再排空服务池）
+         */
+        private int lifecyclePhase = DefaultConvertServicePoolManager.DEFAULT_LIFECYCLE_PHASE;
+    }
+
+    /** 共享内存（内存映射文件）交接输入输出数据相关的属性。*/
+    @Data
+    @NoArgsConstructor
+    public static class SharedMemory
+    {
+        /** 是否经由共享内存交接表格数据与转换结果？（默认不启用）*/
+        private boolean enabled = false;
+
+        /** 交接文件存放的目录（默认为 /dev/shm，不可用时退回系统临时目录）*/
+        private String directory = "/dev/shm";
+    }
+
+    /** 表格交给 Python 服务之前，在 JVM 内预检表格内容相关的属性。*/
+    @Data
+    @NoArgsConstructor
+    public static class Validation
+    {
+        /**
+         * 是否预检表格内容（文件头魔数、ZIP 结构、大小与单元格数量限制）？
+         *（默认不启用，启用后超出下列限制的表格会被直接拒绝，而不再交给 Python 服务尝试转换）
+         */
+        private boolean enabled = false;
+
+        /** 表格文件大小上限（默认 100 MB）*/
+        private long maxFileSizeMb = 100L;
+
+        /** ZIP 格式表格解压后的总大小上限（默认 1024 MB）*/
+        private long maxExpandedSizeMb = 1024L;
+
+        /** ZIP 格式表格的条目数量上限（默认 10000 个）*/
+        private int maxZipEntries = 10_000;
+
+        /** ZIP 格式表格单个条目的压缩比上限（默认 200）*/
+        private int maxCompressionRatio = 200;
+
+        /** 单元格数量上限，依据工作表声明的范围统计（默认 2000 万个，小于等于 0 表示不限制）*/
+        private long maxCells = 20_000_000L;
+    }
+
+    /** 工作表级别增量转换相关的属性。*/
+    @Data
+    @NoArgsConstructor
+    public static class Incremental
+    {
+        /** 是否保存各工作表的转换结果，供增量转换复用？（默认不启用）*/
+        private boolean enabled = false;
+
+        /** 保存的工作表 Markdown 总大小上限，按百万字符计（默认 6400 万个字符）*/
+        private long maxCachedMegaChars = 64L;
+    }
+
+    /** Actuator 健康检查相关的属性（引入 Actuator 时生效）。*/
+    @Data
+    @NoArgsConstructor
+    public static class Health
+    {
+        /** 存活服务少于多少个时报告 DEGRADED？（默认为 0，表示少于服务池的目标大小时即报告）*/
+        private int minAliveWorkers = 0;
+    }
+
+    /** 把转换请求分发到远程转换节点相关的属性。*/
+    @Data
+    @NoArgsConstructor
+    public static class Remote
+    {
+        /** 是否把转换请求分发到远程转换节点（本地不再启动 Python 服务）？（默认不启用）*/
+        private boolean enabled = false;
+
+        /** 远程转换节点的地址列表（比如 http://converter-1:9090/，部署在网关子路径下时带上路径，比如 http://gateway/excel/）*/
+        private List<String> nodes = new ArrayList<>();
+
+        /** 单次转换请求的超时时间（默认 60 秒）*/
+        private int requestTimeoutSeconds = 60;
+
+        /** 节点健康检查的间隔（默认 5000 毫秒）*/
+        private int healthCheckIntervalMillis = 5000;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package io.github.jessez332623.excel_to_markdown.autoconfigure;
+
+import io.github.jessez332623.excel_to_markdown.model.WorkerSnapshot;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Spring AOT / GraalVM 原生镜像的运行时提示：<br/>
+ * 1. 注册 Python 服务脚本资源（由 CachedScriptCreator 从 classpath 取出后落地成临时文件）；<br/>
+ * 2. 注册会被 Jackson 序列化的结果类型（Actuator 端点返回的服务状况）。
+ */
+public class ExcelToMarkdownRuntimeHints implements RuntimeHintsRegistrar
+{
+    /** Python 服务脚本在 classpath 中的位置（不带开头的 /）*/
+    private static final String SCRIPT_RESOURCE = "py-scripts/table_converter_service.py";
+
+    @Override
+    public void
+    registerHints(@NotNull RuntimeHints hints, ClassLoader classLoader)
+    {
+        hints.resources().registerPattern(SCRIPT_RESOURCE);
+
+        new BindingReflectionHintsRegistrar()
+            .registerReflectionHints(hints.reflection(), WorkerSnapshot.class);
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.jessez332623.excel_to_markdown.exception;
+
+/** 表格文件内容未通过预检（类型不符、文件损坏、超出大小限制等）时抛出本异常。*/
+public class InvalidTableContent
+    extends IllegalArgumentException
+{
+    public InvalidTableContent(String message) {
+        super(message);
+    }
+
+    public InvalidTableContent(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.jessez332623.excel_to_markdown.exception.exports;
+
+/**
+ * 与表格内容无关、稍后重试（或换一个服务池重试）可能成功的失败：
+ * 所有服务繁忙、服务启动失败、与服务进程通信失败等。
+ */
+public class ScriptWorkerUnavailableException extends ScriptWorkerException
+{
+    public ScriptWorkerUnavailableException(String message) {
+        super(message);
+    }
+
+    public ScriptWorkerUnavailableException(String message, Throwable throwable) {
+        super(message, throwable);
+    }
+}
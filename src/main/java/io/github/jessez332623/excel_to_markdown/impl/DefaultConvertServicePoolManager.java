@@ -2,47 +2,125 @@ package io.github.jessez332623.excel_to_markdown.impl;
 
 import io.github.jessez332623.excel_to_markdown.ConvertServicePoolManager;
 import io.github.jessez332623.excel_to_markdown.exception.CachedScriptCreateFailed;
+import io.github.jessez332623.excel_to_markdown.exception.InvalidTableContent;
 import io.github.jessez332623.excel_to_markdown.exception.NotSupportFileExtension;
 import io.github.jessez332623.excel_to_markdown.exception.exports.ScriptWorkerException;
+import io.github.jessez332623.excel_to_markdown.exception.exports.ScriptWorkerUnavailableException;
+import io.github.jessez332623.excel_to_markdown.impl.jfr.*;
+import io.github.jessez332623.excel_to_markdown.model.ArchiveEntryResult;
+import io.github.jessez332623.excel_to_markdown.model.ConvertOptions;
+import io.github.jessez332623.excel_to_markdown.model.ConvertSinkResult;
+import io.github.jessez332623.excel_to_markdown.model.TableDocument;
+import io.github.jessez332623.excel_to_markdown.model.WorkerSnapshot;
+import io.github.jessez332623.excel_to_markdown.utils.ArchiveConverter;
 import io.github.jessez332623.excel_to_markdown.utils.CachedScriptCreator;
+import io.github.jessez332623.excel_to_markdown.utils.ContainerResources;
+import io.github.jessez332623.excel_to_markdown.utils.DestinationFiles;
 import io.github.jessez332623.excel_to_markdown.utils.FileExtensionChecker;
-import jakarta.annotation.PostConstruct;
+import io.github.jessez332623.excel_to_markdown.utils.IncrementalConverter;
+import io.github.jessez332623.excel_to_markdown.utils.SharedMemoryHandoff;
+import io.github.jessez332623.excel_to_markdown.utils.TableContentValidator;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.BeanInitializationException;
 import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.boot.json.JsonParserFactory;
+import org.springframework.boot.json.JsonWriter;
 
 import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
-
-/** Excel 表格转 Markdown Python 服务池管理器默认实现。*/
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Excel 表格转 Markdown Python 服务池管理器默认实现。<br/>
+ * 作为 {@link SmartLifecycle} 参与 Spring 的分阶段关闭：
+ * 默认阶段晚于 Web 服务器的优雅关闭、早于其停止，
+ * 即先停止接收流量，再排空服务池，最后销毁服务进程。
+ */
 @Slf4j
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class DefaultConvertServicePoolManager
-    implements DisposableBean, ConvertServicePoolManager
+    implements InitializingBean, DisposableBean, SmartLifecycle, ConvertServicePoolManager
 {
     /* EXCEL 表格文件转 Markdown 文件 python 脚本的 classpath */
     private static final String
     SCRIPT_CLASSPATH = "/py-scripts/table_converter_service.py";
 
-    /** 最大服务进程数量（默认是 4 个）*/
-    private int MAX_SERVICE_AMOUNT;
+    /** 最大服务进程数量（默认是 4 个，可通过 resize() 在运行时调整）*/
+    private volatile int MAX_SERVICE_AMOUNT;
 
     /** 销毁服务池时，最多给池中的服务多少时间去处理完手头的任务？（默认 15 秒）*/
     private int DESTROY_MAX_WAIT_SECONDS;
 
-    /** 销毁服务池时，每隔多久去检查池中服务的状态？（默认 500 毫秒）*/
-    private int DESTROY_WAIT_INTERVAL_MILLIS;
+    /** 销毁服务池时，所有服务进程共用的退出等待时间，超过这个时间仍未退出的直接处斩（5 秒）*/
+    private static final long WORKER_EXIT_WAIT_SECONDS = 5L;
+
+    /**
+     * 默认的生命周期阶段：
+     * 位于 Web 服务器优雅关闭（DEFAULT_PHASE - 1024）与停止（DEFAULT_PHASE - 2048）之间。
+     */
+    public static final int DEFAULT_LIFECYCLE_PHASE
+        = SmartLifecycle.DEFAULT_PHASE - 1536;
+
+    /** 本服务池在 Spring 生命周期中的阶段（阶段越大越晚启动、越早停止）*/
+    @Setter
+    private int lifecyclePhase = DEFAULT_LIFECYCLE_PHASE;
+
+    /** 服务池是否处于运行状态（SmartLifecycle）？*/
+    private volatile boolean running = false;
+
+    /** 服务池是否已经销毁？（保证 destroy() 只执行一次）*/
+    private volatile boolean isDestroyed = false;
+
+    /**
+     * 共享内存交接器（为空时不启用），
+     * 启用后输入与输出都经由 tmpfs 上的内存映射文件交接，而非磁盘临时文件与标准输出管道。
+     */
+    @Setter
+    private @Nullable SharedMemoryHandoff sharedMemoryHandoff;
+
+    /**
+     * 表格内容预检器（为空时不预检），
+     * 内容与扩展名不符、文件损坏或超出限制的表格在分配服务之前就被拒绝。
+     */
+    @Setter
+    private @Nullable TableContentValidator tableContentValidator;
+
+    /**
+     * 工作表级别的增量转换器（为空时增量转换退化为完整转换），
+     * 保存之前转换出的各工作表 Markdown，修订后的工作簿只重新转换发生变化的工作表。
+     */
+    @Setter
+    private @Nullable IncrementalConverter incrementalConverter;
+
+    /** 是否把每个服务进程绑定到一个 CPU 上运行？（仅 Linux，依赖 taskset，且容器独占部分 CPU 时才生效）*/
+    @Setter
+    private boolean cpuAffinity = false;
+
+    /**
+     * 是否启用 Python 服务的快速路径？（默认不启用）
+     * 启用后 .xlsx / .xlsm 由 openpyxl 只读模式逐个工作表读取、输出，其余格式仍交给 markitdown。
+     */
+    @Setter
+    private boolean fastPath = false;
 
     /** 池子是否正在关闭中？*/
     private volatile boolean isShuttingDown = false;
@@ -51,23 +129,61 @@ public class DefaultConvertServicePoolManager
     private final
     AtomicInteger activeWorkerCount = new AtomicInteger(0);
 
-    /** 所有工作进程的列表，用于关闭时清理 */
-    private List<ScriptWorker> allWorkers;
+    /** 排空服务池时使用的锁 */
+    private final
+    ReentrantLock drainLock = new ReentrantLock();
+
+    /** 最后一个服务归还时发出信号，唤醒等待排空的线程 */
+    private final
+    Condition drained = this.drainLock.newCondition();
+
+    /** 所有工作进程的列表，用于关闭时清理（运行时扩缩容会增删其中的服务）*/
+    private final
+    List<ScriptWorker> allWorkers = new CopyOnWriteArrayList<>();
+
+    /** 服务进程可以绑定的 CPU（未启用 CPU 绑定，或容器的 CPU 集合覆盖整个宿主机时为空）*/
+    private List<Integer> affinityCpus = List.of();
+
+    /** 扩缩容时使用的锁（保证服务数量的调整与退役判断互斥）*/
+    private final
+    Object resizeLock = new Object();
 
     /** 服务阻塞队列 */
     private final
     BlockingQueue<ScriptWorker>
     idleWorkerQueue = new LinkedBlockingDeque<>();
 
+    /** 执行滚动回收等维护任务的线程（重启服务进程不占用调用方的线程，比如 Actuator 的请求线程）*/
+    private final
+    ExecutorService maintenanceExecutor
+        = Executors.newSingleThreadExecutor((runnable) -> {
+            Thread thread = new Thread(runnable, "python-service-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    public DefaultConvertServicePoolManager(
+        int maxService,
+        int destroyMaxWaitSeconds
+    )
+    {
+        this.MAX_SERVICE_AMOUNT       = maxService;
+        this.DESTROY_MAX_WAIT_SECONDS = destroyMaxWaitSeconds;
+    }
+
+    /**
+     * @deprecated 排空服务池改为事件驱动，不再轮询检查，
+     *             destroyWaitIntervalMillis 参数已不再使用，
+     *             请改用 {@link #DefaultConvertServicePoolManager(int, int)}。
+     */
+    @Deprecated
     public DefaultConvertServicePoolManager(
         int maxService,
         int destroyMaxWaitSeconds,
         int destroyWaitIntervalMillis
     )
     {
-        this.MAX_SERVICE_AMOUNT           = maxService;
-        this.DESTROY_MAX_WAIT_SECONDS     = destroyMaxWaitSeconds;
-        this.DESTROY_WAIT_INTERVAL_MILLIS = destroyWaitIntervalMillis;
+        this(maxService, destroyMaxWaitSeconds);
     }
 
     /** 单个服务的抽象 */
@@ -82,6 +198,10 @@ public class DefaultConvertServicePoolManager
         private static final String ERROR_MARK
             = "@@END_OF_CONVERSION_ERROR@@";
 
+        /** 转换结果写入文件时，回报结果元数据的行首标志 */
+        private static final String RESULT_MARK
+            = "@@RESULT@@";
+
         /** 解析过程中出现致命错误标志 */
         private static final String FATAL_MARK
             = "fatal";
@@ -90,6 +210,20 @@ public class DefaultConvertServicePoolManager
         private static final String EXCEPTION_MARK
             = "exception";
 
+        /** 列式输出格式（请求的 format 字段）*/
+        private static final String COLUMNAR_FORMAT
+            = "columnar";
+
+        /** 快速路径开关的环境变量（为 0 时所有表格都交给 markitdown）*/
+        private static final String FAST_PATH_ENV
+            = "EXCEL_TO_MARKDOWN_FAST_PATH";
+
+        /** 服务进程绑定的 CPU 列表（taskset -c 的参数，为空时不绑定）*/
+        private String cpuSet;
+
+        /** 是否启用快速路径？*/
+        private boolean fastPath;
+
         /** 服务进程本体 */
         private Process pythonProcess;
 
@@ -102,6 +236,30 @@ public class DefaultConvertServicePoolManager
         /** 与进程的标准错误进行通信的缓冲区 */
         private BufferedReader pythonErrorReader;
 
+        /** 当前任务的文件扩展名（填充 JFR 事件用）*/
+        private String traceExtension = "";
+
+        /** 当前任务的输入大小（填充 JFR 事件用）*/
+        private long traceInputSize = -1L;
+
+        /** 本服务是否正在处理任务？*/
+        private volatile boolean busy = false;
+
+        /** 是否已经请求回收本服务？（下次归还时重启）*/
+        private volatile boolean recycleRequested = false;
+
+        /** 成功完成的转换次数（借用线程累加，监控线程读取）*/
+        private final AtomicLong served = new AtomicLong(0L);
+
+        /** 最近一次转换的耗时（纳秒，尚未转换过时为 -1）*/
+        private volatile long lastLatencyNanos = -1L;
+
+        private ScriptWorker(@Nullable String cpuSet, boolean fastPath)
+        {
+            this.cpuSet   = cpuSet;
+            this.fastPath = fastPath;
+        }
+
         /** 检查本服务是否正在运行。*/
         public boolean
         isNotAlive() {
@@ -132,12 +290,22 @@ public class DefaultConvertServicePoolManager
             Path cachedScript
                 = CachedScriptCreator.createCachedScript(SCRIPT_CLASSPATH);
 
+            List<String> command = new ArrayList<>();
+
+            // 绑定 CPU 时，由 taskset 设置亲和性后再执行服务脚本
+            if (Objects.nonNull(this.cpuSet)) {
+                command.addAll(List.of("taskset", "-c", this.cpuSet));
+            }
+
+            command.addAll(List.of("py", cachedScript.toString()));
+
             ProcessBuilder processBuilder
-                = new ProcessBuilder("py", cachedScript.toString());
+                = new ProcessBuilder(command);
 
             // 设置 UTF-8 环境变量，避免中文文件名乱码
             Map<String, String> env = processBuilder.environment();
             env.put("PYTHONUTF8", "1");
+            env.put(FAST_PATH_ENV, this.fastPath ? "1" : "0");
 
             try
             {
@@ -147,7 +315,7 @@ public class DefaultConvertServicePoolManager
             catch (IOException | CachedScriptCreateFailed exception)
             {
                 throw new
-                ScriptWorkerException(
+                ScriptWorkerUnavailableException(
                     String.format(
                         "Start Python Service failed, Caused by：%s",
                         exception.getMessage()),
@@ -178,74 +346,164 @@ public class DefaultConvertServicePoolManager
             );
 
             log.info(
-                "Python service start success (PID: {}), service run script：{}",
-                this.pythonProcess.pid(), SCRIPT_CLASSPATH
+                "Python service start success (PID: {}, CPU: {}), service run script：{}",
+                this.pythonProcess.pid(),
+                Objects.requireNonNullElse(this.cpuSet, "any"),
+                SCRIPT_CLASSPATH
             );
         }
 
-        /** 重启转换服务。*/
+        /** 记录一次成功的转换及其耗时。*/
         private void
-        restart() throws InterruptedException
+        markServed(long latencyNanos)
         {
-            this.shutdown();
-            this.initWorker();
+            this.served.incrementAndGet();
+            this.lastLatencyNanos = latencyNanos;
         }
 
-        /** 关闭转换服务。*/
-        private boolean
-        shutdown()
+        /** 获取本服务当前的运行状况。*/
+        private @NotNull WorkerSnapshot
+        snapshot()
+        {
+            final long pid = this.getPID();
+
+            final WorkerSnapshot.State state
+                = (pid == -1L)
+                    ? WorkerSnapshot.State.DEAD
+                    : (this.busy ? WorkerSnapshot.State.BUSY : WorkerSnapshot.State.IDLE);
+
+            return new
+            WorkerSnapshot(
+                pid, state, this.served.get(),
+                (this.lastLatencyNanos < 0L) ? -1L : TimeUnit.NANOSECONDS.toMillis(this.lastLatencyNanos),
+                ContainerResources.residentSetBytes(pid)
+            );
+        }
+
+        /** 记录当前任务的信息，本服务产生的 JFR 事件都会带上这些信息。*/
+        public void
+        trace(String extension, long inputSize)
         {
-            long servicePID
-                = (this.pythonProcess != null)
-                    ? this.pythonProcess.pid()
-                    : -1;
+            this.traceExtension = extension;
+            this.traceInputSize = inputSize;
+        }
+
+        /** 用当前任务的信息与本服务的 PID 填充 JFR 事件。*/
+        private <E extends ConversionPhaseEvent> E
+        describe(E event)
+        {
+            event.describe(this.traceExtension, this.traceInputSize, this.getPID());
+            return event;
+        }
+
+        /**
+         * 重启转换服务。
+         *
+         * @param cause 重启的原因（记录到 JFR 事件中）
+         */
+        private void
+        restart(String cause) throws InterruptedException
+        {
+            WorkerRestartEvent restartEvent
+                = this.describe(new WorkerRestartEvent());
 
-            boolean isGracefulShutDown = false;
+            restartEvent.cause = cause;
+            restartEvent.begin();
 
-            if (this.pythonWriter != null)
+            try
             {
-                try
-                {
-                    this.pythonWriter.write("exit\n");
-                    this.pythonWriter.flush();
-                    isGracefulShutDown = true;
-                }
-                catch (IOException exception)
-                {
-                    log.warn(
-                        "Terminate service (PID: {}) gracefully failed!",
-                        servicePID, exception
-                    );
-                }
+                this.shutdown();
+                this.initWorker();
+            }
+            finally
+            {
+                restartEvent.newWorkerPid = this.getPID();
+                restartEvent.commit();
             }
+        }
+
+        /** 关闭转换服务（重启时使用）：请求服务优雅退出，最多等待 5 秒后释放。*/
+        private boolean
+        shutdown()
+        {
+            final boolean isGracefulShutDown = this.requestExit();
 
-            if (Objects.nonNull(this.pythonProcess) && !isGracefulShutDown)
+            if (Objects.nonNull(this.pythonProcess))
             {
                 try
                 {
-                    // 给服务进程 5 秒的时间完成退出，超过这个时间直接处斩
-                    if (!pythonProcess.waitFor(5L, TimeUnit.SECONDS))
-                    {
-                        this.pythonProcess.destroyForcibly();
-                        log.warn("Abort service  (PID: {})", servicePID);
-                    }
+                    // 给服务进程 5 秒的时间完成退出，超过这个时间由 release() 直接处斩
+                    this.pythonProcess.waitFor(WORKER_EXIT_WAIT_SECONDS, TimeUnit.SECONDS);
                 }
                 catch (InterruptedException e)
                 {
                     log.warn(
                         "Waiting for the process to end is interrupted, " +
-                        "forcibly terminate the service (PID: {})", servicePID
+                        "forcibly terminate the service (PID: {})", this.pythonProcess.pid()
                     );
 
-                    this.pythonProcess.destroyForcibly();
                     Thread.currentThread().interrupt();   // 线程保持中断状态
                 }
-                finally {
-                    // 不论本服务进程是否正常处死，都丢弃这个进程实例的引用
-                    this.pythonProcess = null;
-                }
             }
 
+            this.release();
+
+            return isGracefulShutDown;
+        }
+
+        /**
+         * 向服务写入退出命令，请求其优雅退出（不等待进程结束）。
+         *
+         * @return 退出命令是否写入成功
+         */
+        private boolean
+        requestExit()
+        {
+            if (this.pythonWriter == null) {
+                return false;
+            }
+
+            try
+            {
+                this.pythonWriter.write("exit\n");
+                this.pythonWriter.flush();
+
+                return true;
+            }
+            catch (IOException exception)
+            {
+                log.warn(
+                    "Terminate service (PID: {}) gracefully failed!",
+                    this.getPID(), exception
+                );
+
+                return false;
+            }
+        }
+
+        /** 服务进程退出时完成的 Future（进程不存在时立即完成）。*/
+        private @NotNull CompletableFuture<?>
+        onExit()
+        {
+            return
+            Objects.isNull(this.pythonProcess)
+                ? CompletableFuture.completedFuture(null)
+                : this.pythonProcess.onExit();
+        }
+
+        /** 释放本服务：进程仍未退出则直接处斩，关闭通信缓冲流并丢弃进程实例的引用。*/
+        private void
+        release()
+        {
+            if (Objects.nonNull(this.pythonProcess) && this.pythonProcess.isAlive())
+            {
+                this.pythonProcess.destroyForcibly();
+                log.warn("Abort service  (PID: {})", this.pythonProcess.pid());
+            }
+
+            // 不论本服务进程是否正常处死，都丢弃这个进程实例的引用
+            this.pythonProcess = null;
+
             this.closeBufferQuietly(this.pythonReader);
             this.closeBufferQuietly(this.pythonWriter);
             this.closeBufferQuietly(this.pythonErrorReader);
@@ -253,8 +511,6 @@ public class DefaultConvertServicePoolManager
             this.pythonReader      = null;
             this.pythonWriter      = null;
             this.pythonErrorReader = null;
-
-            return isGracefulShutDown;
         }
 
         /** “安静的” 关闭与进程通信的 I/O 缓冲流。*/
@@ -279,20 +535,115 @@ public class DefaultConvertServicePoolManager
         {
             FileExtensionChecker.check(tablePath);
 
-            this.pythonWriter.write(tablePath + "\n");
+            this.writeRequest(tablePath);
+        }
+
+        /**
+         * 向服务提交带参数的任务（JSON 格式的请求）。
+         *
+         * @param tablePath  表格文件路径
+         * @param outputPath 输出文件路径（为空时转换结果仍从标准输出返回）
+         * @param mapped     是否以内存映射的方式写入输出文件（用于共享内存交接）
+         * @param options    转换选项（为空时完整转换）
+         */
+        public void
+        submit(
+            String                   tablePath,
+            @Nullable String         outputPath,
+            boolean                  mapped,
+            @Nullable ConvertOptions options
+        ) throws IOException, NotSupportFileExtension
+        {
+            this.submit(tablePath, outputPath, mapped, options, null);
+        }
+
+        /**
+         * 向服务提交带参数的任务（JSON 格式的请求），并指定输出格式。
+         *
+         * @param outputFormat 输出格式（为空时输出 Markdown，
+         *                     为 {@link #COLUMNAR_FORMAT} 时向输出文件写入列式编码）
+         */
+        public void
+        submit(
+            String                   tablePath,
+            @Nullable String         outputPath,
+            boolean                  mapped,
+            @Nullable ConvertOptions options,
+            @Nullable String         outputFormat
+        ) throws IOException, NotSupportFileExtension
+        {
+            FileExtensionChecker.check(tablePath);
+
+            final Map<String, Object> request = new LinkedHashMap<>();
+            request.put("input", tablePath);
+
+            if (Objects.nonNull(outputPath))
+            {
+                request.put("output", outputPath);
+                request.put("mapped", mapped);
+            }
+
+            if (Objects.nonNull(options)) {
+                request.put("options", options.toRequestOptions());
+            }
+
+            if (Objects.nonNull(outputFormat)) {
+                request.put("format", outputFormat);
+            }
+
+            this.writeRequest(JsonWriter.standard().writeToString(request));
+        }
+
+        /** 向服务的标准输入写入一行请求。*/
+        private void
+        writeRequest(String requestLine) throws IOException
+        {
+            SubmitEvent submitEvent = this.describe(new SubmitEvent());
+            submitEvent.begin();
+
+            this.pythonWriter.write(requestLine + "\n");
             this.pythonWriter.flush();
+
+            submitEvent.commit();
+        }
+
+        /**
+         * 等待服务输出第一行结果，
+         * Python 服务转换完成后才会输出，因此这段等待就是 Python 侧的转换耗时。
+         */
+        private String
+        awaitFirstLine() throws IOException
+        {
+            PythonConversionEvent conversionEvent
+                = this.describe(new PythonConversionEvent());
+
+            conversionEvent.begin();
+
+            final String firstLine = this.pythonReader.readLine();
+
+            conversionEvent.commit();
+
+            return firstLine;
         }
 
-        /** 获取转换结果。*/
+        /**
+         * 获取转换结果。
+         *
+         * @throws ScriptWorkerException Python 服务回报转换出错时抛出（丢弃已经读到的部分结果）
+         */
         @NotNull
         public String getResult() throws IOException
         {
-            String line;
             StringBuilder scriptResult = new StringBuilder();
 
             boolean hasError = false;
 
-            while ((line = pythonReader.readLine()) != null)
+            String line = this.awaitFirstLine();
+
+            ResultReadEvent readEvent = this.describe(new ResultReadEvent());
+            readEvent.begin();
+
+            for (; line != null; line = pythonReader.readLine())
             {
                 if (line.equals(END_MARK)) {
                     break;
@@ -305,22 +656,90 @@ public class DefaultConvertServicePoolManager
                 scriptResult.append(line).append('\n');
             }
 
+            final String markdown = scriptResult.toString().trim();
+
+            // 事件未启用（或未达到阈值）时不必逐字符统计
+            if (readEvent.shouldCommit()) {
+                readEvent.outputSize = utf8Length(markdown);
+            }
+
+            readEvent.commit();
+
+            // 出错时标准输出上可能已有部分结果，不能当作完整的转换结果返回
+            if (hasError)
+            {
+                throw new
+                ScriptWorkerException(
+                    "Python script encountered an error during execution, " +
+                    "please check the log for details."
+                );
+            }
+
+            return markdown;
+        }
+
+        /**
+         * 等待服务把转换结果写入输出文件，
+         * 返回服务通过标准输出回报的结果元数据（转换出错时返回空表）。
+         */
+        @NotNull
+        public Map<String, Object> getOutputMeta() throws IOException
+        {
+            Map<String, Object> outputMeta = Map.of();
+
+            boolean hasError = false;
+
+            String line = this.awaitFirstLine();
+
+            ResultReadEvent readEvent = this.describe(new ResultReadEvent());
+            readEvent.begin();
+
+            for (; ; line = pythonReader.readLine())
+            {
+                if (line == null) {
+                    throw new IOException("Python service output closed before conversion finished!");
+                }
+                if (line.equals(END_MARK)) {
+                    break;
+                }
+                if (line.equals(ERROR_MARK)) {
+                    hasError = true;
+                    continue;
+                }
+                if (line.startsWith(RESULT_MARK))
+                {
+                    outputMeta
+                        = JsonParserFactory.getJsonParser()
+                                           .parseMap(line.substring(RESULT_MARK.length()));
+                }
+            }
+
+            if (outputMeta.get("bytes") instanceof Number outputBytes) {
+                readEvent.outputSize = outputBytes.longValue();
+            }
+
+            readEvent.commit();
+
             if (hasError)
             {
                 log.error(
                     "Python script encountered an error during execution, " +
                     "please check the log for details."
                 );
+
+                return Map.of();
             }
 
-            return
-            scriptResult.toString().trim();
+            return outputMeta;
         }
 
         /** 检查本服务在转换过程中可能出现的错误。*/
         public void checkError()
             throws InterruptedException, IOException
         {
+            CheckErrorEvent checkErrorEvent = this.describe(new CheckErrorEvent());
+            checkErrorEvent.begin();
+
             StringBuilder errorResult = new StringBuilder();
 
             char[] buffer = new char[1024];
@@ -332,6 +751,8 @@ public class DefaultConvertServicePoolManager
                 errorResult.append(buffer, 0, bytesRead);
             }
 
+            checkErrorEvent.commit();
+
             if (!errorResult.isEmpty())
             {
                 log.error("Exception occurred during convert table, Caused by：{}", errorResult);
@@ -341,26 +762,34 @@ public class DefaultConvertServicePoolManager
                     errorResult.toString().contains(EXCEPTION_MARK))
                 {
                     log.warn("Serious error detected, restart Python process.");
-                    this.restart();
+                    this.restart("Serious error reported on stderr");
                 }
             }
         }
     }
 
-    /** 初始化转换服务池（服务器开机时自动执行）。*/
-    @PostConstruct
-    private void
+    /** 由 Spring 容器在注入属性之后调用（不依赖 @PostConstruct 的反射处理，AOT / 原生镜像下同样可靠）。*/
+    @Override
+    public void afterPropertiesSet() {
+        this.init();
+    }
+
+    /**
+     * 初始化转换服务池（服务器开机时经由 afterPropertiesSet() 自动执行，
+     * 在 Spring 容器之外使用本服务池时，需要手动调用）。
+     */
+    public void
     init()
     {
-        List<ScriptWorker> tempAllWorkers = new ArrayList<>();
+        this.affinityCpus = this.resolveAffinityCpus();
+
         for (int index = 0; index < MAX_SERVICE_AMOUNT; ++index)
         {
             try
             {
-                ScriptWorker worker = new ScriptWorker();
-                worker.initWorker();
+                ScriptWorker worker = this.createWorker();
 
-                tempAllWorkers.add(worker);
+                this.allWorkers.add(worker);
                 this.idleWorkerQueue.offer(worker);
             }
             catch (ScriptWorkerException e)
@@ -369,9 +798,6 @@ public class DefaultConvertServicePoolManager
             }
         }
 
-        this.allWorkers
-            = Collections.unmodifiableList(tempAllWorkers);
-
         // 若所有服务皆启动失败，整个应用程序也不要启动了（怒）
         if (this.idleWorkerQueue.isEmpty())
         {
@@ -382,82 +808,226 @@ public class DefaultConvertServicePoolManager
         }
     }
 
-    /** 服务池实例销毁前，先销毁池内所有服务。*/
-    @Override
-    public void destroy()
+    /**
+     * 创建并启动一个服务，绑定到当前绑定服务最少的 CPU 上
+     *（扩缩容只在 resizeLock 下调用本方法，池中服务的 CPU 分布不会在选择期间变化）。
+     */
+    private @NotNull ScriptWorker
+    createWorker()
     {
-        this.isShuttingDown = true;
-
-        log.info("Starting to close all Python service ...");
-
-        this.waitingToFinish();
-
-        int closedCount = 0;
-
-        for (ScriptWorker worker : this.allWorkers)
-        {
-            try
-            {
-                long pid = worker.getPID();
+        final Integer cpu
+            = this.affinityCpus.isEmpty()
+                ? null
+                : leastPinnedCpu(
+                    this.affinityCpus,
+                    this.allWorkers.stream()
+                                   .map((worker) -> worker.cpuSet)
+                                   .filter(Objects::nonNull)
+                                   .map(Integer::valueOf)
+                                   .toList()
+                );
 
-                // 只有优雅关闭的服务才纳入计数
-                if (worker.shutdown()) {
-                    closedCount++;
-                }
+        ScriptWorker worker
+            = new ScriptWorker(Objects.isNull(cpu) ? null : String.valueOf(cpu), this.fastPath);
 
-                log.info("Shutdown Python service (PID: {}) success!", pid);
-            }
-            catch (Exception e)
-            {
-                log.error(
-                    "An error occurred during the shutdown of the Python service (PID: {})",
-                    e.getMessage()
-                );
-            }
-        }
+        worker.initWorker();
 
-        log.info(
-            "Success to shutdown {} out of {} services.",
-            closedCount, this.allWorkers.size()
-        );
+        return worker;
     }
 
     /**
-     * 作为 waitingToFinish() 的辅助方法，在等待时间范围内，
-     * 每隔一小段时间检查池中的服务是否都已经完成了手头的任务。
+     * 从可绑定的 CPU 中选出绑定服务最少的一个（数量相同时取靠前的），
+     * 缩容后再扩容时，新服务会补到空出来的 CPU 上，而不是与仍在运行的服务挤在一起。
      *
-     * @param startTime      开始时间戳
-     *
-     * @return 在本轮检查中，池中的所有任务是否都处于空闲状态？  <br/>
-     *         true  当前仍有服务在处理任务，需要进行下一轮检查  <br/>
-     *         false 当前所有任务都已空闲
+     * @param cpus       可绑定的 CPU（不得为空）
+     * @param pinnedCpus 池中现有服务绑定的 CPU
      */
-    private boolean
-    isCompletelyFinish(final long startTime)
+    static int
+    leastPinnedCpu(@NotNull List<Integer> cpus, @NotNull Collection<Integer> pinnedCpus)
     {
-        return
-        this.activeWorkerCount.get() > 0 &&
-        ((System.currentTimeMillis() - startTime) < DESTROY_MAX_WAIT_SECONDS * 1000L);
-    }
+        final Map<Integer, Integer> pinned = new HashMap<>();
 
-    /** 在关闭服务池前，先等待所有服务处理完手头的任务。*/
-    private void waitingToFinish()
-    {
-        final long startTime = System.currentTimeMillis();
+        pinnedCpus.forEach((cpu) -> pinned.merge(cpu, 1, Integer::sum));
 
-        while (this.isCompletelyFinish(startTime))
+        int picked = cpus.get(0);
+
+        for (int cpu : cpus)
         {
-            try {
-                Thread.sleep(DESTROY_WAIT_INTERVAL_MILLIS);
+            if (pinned.getOrDefault(cpu, 0) < pinned.getOrDefault(picked, 0)) {
+                picked = cpu;
             }
-            catch (InterruptedException exception)
-            {
-                Thread.currentThread().interrupt();
+        }
 
-                log.warn("Interrupted while waiting for workers to finish.");
-                break;
+        return picked;
+    }
+
+    /** 解析服务进程可以绑定的 CPU（未启用或当前系统不支持时返回空列表）。*/
+    private @NotNull List<Integer>
+    resolveAffinityCpus()
+    {
+        if (!this.cpuAffinity) {
+            return List.of();
+        }
+
+        if (!ContainerResources.isAffinitySupported())
+        {
+            log.warn("CPU affinity requires Linux with taskset available, ignore it.");
+            return List.of();
+        }
+
+        final List<Integer> dedicatedCpus = ContainerResources.dedicatedCpus();
+
+        // 容器可以使用宿主机上所有的 CPU 时，各容器都从 0 号 CPU 开始绑定只会让负载集中，不如交给调度器
+        if (dedicatedCpus.isEmpty()) {
+            log.info("Container cpuset is not narrower than the host, Python services are not pinned to CPUs.");
+        }
+
+        return dedicatedCpus;
+    }
+
+    /** 开始接受转换任务（SmartLifecycle）。*/
+    @Override
+    public void start()
+    {
+        this.isShuttingDown = false;
+        this.running        = true;
+    }
+
+    /**
+     * 停止接受新的转换任务，并等待池中服务处理完手头的任务（SmartLifecycle），
+     * 服务进程留到 {@link #destroy()} 中销毁。
+     */
+    @Override
+    public void stop()
+    {
+        log.info("Stop accepting conversions, draining Python service pool ...");
+
+        this.drain();
+        this.running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    @Override
+    public int getPhase() {
+        return this.lifecyclePhase;
+    }
+
+    /**
+     * 服务池实例销毁前，先销毁池内所有服务：
+     * 同时向所有服务发出退出命令，在同一个截止时间内等待它们退出，
+     * 截止时间过后仍未退出的服务直接处斩。
+     */
+    @Override
+    public void destroy()
+    {
+        if (this.isDestroyed) {
+            return;
+        }
+
+        this.isDestroyed = true;
+        this.running     = false;
+
+        this.drain();
+        this.maintenanceExecutor.shutdown();
+
+        log.info("Starting to close all Python service ...");
+
+        final List<ScriptWorker> workers = List.copyOf(this.allWorkers);
+
+        final Map<ScriptWorker, Boolean> exitRequested = new IdentityHashMap<>();
+        final List<CompletableFuture<?>> exits         = new ArrayList<>();
+
+        for (ScriptWorker worker : workers)
+        {
+            exitRequested.put(worker, worker.requestExit());
+            exits.add(worker.onExit());
+        }
+
+        try
+        {
+            CompletableFuture.allOf(exits.toArray(CompletableFuture[]::new))
+                             .get(WORKER_EXIT_WAIT_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (TimeoutException timeout)
+        {
+            log.warn(
+                "Some Python services did not exit within {} seconds, abort them.",
+                WORKER_EXIT_WAIT_SECONDS
+            );
+        }
+        catch (ExecutionException exception) {
+            log.warn("Waiting for Python services to exit failed, abort them.", exception);
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for Python services to exit, abort them.");
+        }
+
+        int closedCount = 0;
+
+        for (ScriptWorker worker : workers)
+        {
+            // 只有优雅关闭（退出命令写入成功且在截止时间内退出）的服务才纳入计数
+            if (exitRequested.get(worker) && worker.isNotAlive()) {
+                closedCount++;
+            }
+
+            worker.release();
+        }
+
+        log.info(
+            "Success to shutdown {} out of {} services.",
+            closedCount, workers.size()
+        );
+    }
+
+    /** 停止分配服务，并等待池中服务处理完手头的任务。*/
+    private void drain()
+    {
+        // 与借出服务在同一把锁下进行：要么借出在前、排空会等它归还，要么借出在后、看到关闭标志放弃借出
+        this.drainLock.lock();
+
+        try {
+            this.isShuttingDown = true;
+        }
+        finally {
+            this.drainLock.unlock();
+        }
+
+        this.waitingToFinish();
+    }
+
+    /**
+     * 在关闭服务池前，先等待所有服务处理完手头的任务，
+     * 最后一个服务归还时立即返回，最多等待 maxWaitSeconds。
+     */
+    private void waitingToFinish()
+    {
+        long remainingNanos
+            = TimeUnit.SECONDS.toNanos(DESTROY_MAX_WAIT_SECONDS);
+
+        this.drainLock.lock();
+
+        try
+        {
+            while (this.activeWorkerCount.get() > 0 && remainingNanos > 0L) {
+                remainingNanos = this.drained.awaitNanos(remainingNanos);
             }
         }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+
+            log.warn("Interrupted while waiting for workers to finish.");
+        }
+        finally {
+            this.drainLock.unlock();
+        }
 
         /*
          * 若在 maxWaitSeconds 之后还有服务繁忙（这种情况少见），
@@ -472,6 +1042,194 @@ public class DefaultConvertServicePoolManager
         }
     }
 
+    /** 获取池中存活的服务数量。*/
+    public int
+    getAliveWorkerCount()
+    {
+        return
+        (int) this.allWorkers.stream()
+                             .filter((worker) -> !worker.isNotAlive())
+                             .count();
+    }
+
+    /** 获取服务池的目标服务数量。*/
+    public int
+    getPoolSize() {
+        return this.MAX_SERVICE_AMOUNT;
+    }
+
+    /** 获取正在处理任务的服务数量。*/
+    public int
+    getActiveWorkerCount() {
+        return this.activeWorkerCount.get();
+    }
+
+    /** 获取池中每个服务当前的运行状况。*/
+    public @NotNull List<WorkerSnapshot>
+    getWorkerSnapshots()
+    {
+        return
+        this.allWorkers.stream()
+                       .map(ScriptWorker::snapshot)
+                       .toList();
+    }
+
+    /**
+     * 在运行时调整服务池的大小：
+     * 扩容时立即启动新的服务；缩容时先让空闲的服务退役，繁忙的服务在归还时退役，不会打断正在进行的转换。
+     *
+     * @param newSize 新的服务数量（至少为 1）
+     *
+     * @return 调整后池中实际的服务数量（缩容时可能暂时大于 newSize）
+     */
+    public int
+    resize(int newSize)
+    {
+        if (newSize < 1)
+        {
+            throw new
+            IllegalArgumentException(
+                String.format("Pool size must be at least 1, but got %d!", newSize)
+            );
+        }
+
+        if (this.isShuttingDown) {
+            throw new IllegalStateException("Service pool is shutting down, cannot resize!");
+        }
+
+        final List<ScriptWorker> retired = new ArrayList<>();
+
+        synchronized (this.resizeLock)
+        {
+            final int oldSize = this.MAX_SERVICE_AMOUNT;
+
+            this.MAX_SERVICE_AMOUNT = newSize;
+
+            // 缩容：先收回空闲的服务，其余的在归还时退役
+            ScriptWorker idleWorker;
+
+            while (this.allWorkers.size() > newSize &&
+                   Objects.nonNull(idleWorker = this.idleWorkerQueue.poll()))
+            {
+                this.allWorkers.remove(idleWorker);
+                retired.add(idleWorker);
+            }
+
+            // 扩容：启动新的服务
+            while (this.allWorkers.size() < newSize)
+            {
+                ScriptWorker worker = this.createWorker();
+
+                this.allWorkers.add(worker);
+                this.idleWorkerQueue.offer(worker);
+            }
+
+            log.info("Resize Python service pool from {} to {}.", oldSize, newSize);
+        }
+
+        retired.forEach(this::retire);
+
+        return this.allWorkers.size();
+    }
+
+    /**
+     * 滚动回收服务：空闲的服务由维护线程逐个重启（同一时刻只有一个服务离开队列），
+     * 繁忙的服务在归还时重启，不会打断正在进行的转换。本方法只安排回收，不等待服务重启完成。
+     *
+     * @param pid 要回收的服务 PID（为空时回收全部服务）
+     *
+     * @return 被回收（或已安排在归还时回收）的服务数量
+     */
+    public int
+    recycle(@Nullable Long pid)
+    {
+        final List<ScriptWorker> targets
+            = this.allWorkers.stream()
+                             .filter((worker) -> Objects.isNull(pid) || worker.getPID() == pid)
+                             .toList();
+
+        if (targets.isEmpty()) {
+            return 0;
+        }
+
+        targets.forEach((worker) -> worker.recycleRequested = true);
+
+        final Runnable rollingRestart
+            = () -> targets.forEach(this::recycleIfIdle);
+
+        try {
+            this.maintenanceExecutor.execute(rollingRestart);
+        }
+        catch (RejectedExecutionException rejected) {
+            // 服务池已经销毁，维护线程不再接受任务，此时借出服务也会失败
+            rollingRestart.run();
+        }
+
+        return targets.size();
+    }
+
+    /** 服务仍在等待回收且空闲时，把它借出来，按归还流程重启后放回队列。*/
+    private void
+    recycleIfIdle(@NotNull ScriptWorker worker)
+    {
+        if (worker.recycleRequested && this.tryBorrow(worker)) {
+            this.returnWorker(worker);
+        }
+    }
+
+    /**
+     * 把指定的空闲服务移出队列并计入活跃服务（两步在 drainLock 下一起完成，
+     * 排空服务池时不会出现服务既不在队列中、也不计入活跃服务的间隙）。
+     *
+     * @return 是否借出成功（服务池关闭中或服务不在队列中时返回 false）
+     */
+    private boolean
+    tryBorrow(@NotNull ScriptWorker worker)
+    {
+        this.drainLock.lock();
+
+        try
+        {
+            if (this.isShuttingDown || !this.idleWorkerQueue.remove(worker)) {
+                return false;
+            }
+
+            this.activeWorkerCount.incrementAndGet();
+
+            return true;
+        }
+        finally {
+            this.drainLock.unlock();
+        }
+    }
+
+    /** 缩容后池中服务仍多于目标数量时，从池中移除归还的服务。*/
+    private boolean
+    tryRemoveForShrink(@NotNull ScriptWorker worker)
+    {
+        synchronized (this.resizeLock)
+        {
+            return
+            this.allWorkers.size() > this.MAX_SERVICE_AMOUNT &&
+            this.allWorkers.remove(worker);
+        }
+    }
+
+    /** 让已经移出服务池的服务退役：请求其优雅退出，5 秒后仍未退出的直接处斩（不阻塞调用线程）。*/
+    private void
+    retire(@NotNull ScriptWorker worker)
+    {
+        final long pid = worker.getPID();
+
+        worker.requestExit();
+        worker.onExit()
+              .completeOnTimeout(null, WORKER_EXIT_WAIT_SECONDS, TimeUnit.SECONDS)
+              .whenComplete((ignore, throwable) -> {
+                  worker.release();
+                  log.info("Retire Python service (PID: {}) success!", pid);
+              });
+    }
+
     /** 轮询池中可用服务并返回。*/
     private @Nullable ScriptWorker
     pollService() throws InterruptedException
@@ -488,12 +1246,29 @@ public class DefaultConvertServicePoolManager
             = this.idleWorkerQueue
                   .poll(5L, TimeUnit.SECONDS);
 
-        if (Objects.nonNull(worker)) {
-            // 成功分配到服务，活跃计数 + 1
-            this.activeWorkerCount.incrementAndGet();
+        if (Objects.isNull(worker)) {
+            return null;
         }
 
-        return worker;
+        this.drainLock.lock();
+
+        try
+        {
+            // 等待期间服务池开始关闭，放回队列，避免排空结束后还有任务在跑
+            if (this.isShuttingDown)
+            {
+                this.idleWorkerQueue.offer(worker);
+                return null;
+            }
+
+            // 成功分配到服务，活跃计数 + 1（与关闭标志的检查在同一把锁下）
+            this.activeWorkerCount.incrementAndGet();
+
+            return worker;
+        }
+        finally {
+            this.drainLock.unlock();
+        }
     }
 
     /**
@@ -505,34 +1280,77 @@ public class DefaultConvertServicePoolManager
     private void
     returnWorker(@NotNull ScriptWorker worker)
     {
-        if (worker.isNotAlive())
+        try
         {
-            try { worker.restart(); }
-            catch (InterruptedException e)
+            worker.busy = false;
+
+            // 缩容后池中服务仍多于目标数量，本服务退役而不是回到队列
+            if (this.tryRemoveForShrink(worker))
             {
-                log.error("Restart failed! This worker will not be re-queued...", e);
+                this.retire(worker);
                 return;
             }
+
+            if (worker.recycleRequested)
+            {
+                worker.recycleRequested = false;
+                worker.restart("Recycle requested");
+            }
+            else if (worker.isNotAlive()) {
+                worker.restart("Worker process is not alive");
+            }
+
+            this.idleWorkerQueue.offer(worker);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            log.error("Restart failed! This worker will not be re-queued...", e);
+        }
+        finally
+        {
+            // 归还服务入池（即便重启失败也要释放），活跃计数 - 1，
+            // 最后一个服务归还时唤醒等待排空的线程
+            if (this.activeWorkerCount.decrementAndGet() == 0) {
+                this.signalDrained();
+            }
         }
+    }
+
+    /** 唤醒等待服务池排空的线程。*/
+    private void signalDrained()
+    {
+        this.drainLock.lock();
 
-        this.idleWorkerQueue.offer(worker);
+        try {
+            this.drained.signalAll();
+        }
+        finally {
+            this.drainLock.unlock();
+        }
+    }
 
-        // 归还服务入池，活跃计数 - 1
-        this.activeWorkerCount.decrementAndGet();
+    /** 借用池中的一个服务执行的任务。*/
+    @FunctionalInterface
+    private interface WorkerTask<T>
+    {
+        T execute(@NotNull ScriptWorker worker, @NotNull Path tableAbsolutePath)
+            throws IOException, InterruptedException;
     }
 
     /**
-     * 开放的执行转换接口 Excel -> Markdown
+     * 从池中借用一个服务执行任务，任务结束后（不论成功与否）归还服务。
      *
-     * @param tablePath 表格临时文件路径
+     * @param tablePath 表格文件路径
+     * @param task      要执行的任务
      *
-     * @return 转换完成后的 Markdown 文本
+     * @return 任务的执行结果（服务池关闭中时返回 null）
      *
-     * @throws ScriptWorkerException 服务启动失败，转换失败最终抛出本异常
+     * @throws ScriptWorkerException 转换失败最终抛出本异常，
+     *                               其中服务繁忙、服务启动失败、通信失败抛出的是 {@link ScriptWorkerUnavailableException}
      */
-    @Override
-    public String
-    convertTableToMarkdown(Path tablePath) throws ScriptWorkerException
+    private <T> T
+    executeWithWorker(Path tablePath, WorkerTask<T> task) throws ScriptWorkerException
     {
         if (this.isShuttingDown)
         {
@@ -558,24 +1376,47 @@ public class DefaultConvertServicePoolManager
                 );
             }
 
+            // 在分配服务之前预检表格内容，坏文件不占用服务
+            if (Objects.nonNull(this.tableContentValidator)) {
+                this.tableContentValidator.validate(tableAbsolutePath);
+            }
+
+            final String extension
+                = FileExtensionChecker.extractFileExtension(tableAbsolutePath.getFileName().toString());
+            final long inputSize
+                = Files.size(tableAbsolutePath);
+
+            QueueWaitEvent queueWaitEvent = new QueueWaitEvent();
+            queueWaitEvent.begin();
+
             worker = this.pollService();
 
+            queueWaitEvent.describe(
+                extension, inputSize,
+                Objects.isNull(worker) ? -1L : worker.getPID()
+            );
+            queueWaitEvent.commit();
+
             if (Objects.isNull(worker))
             {
                 throw new
-                ScriptWorkerException("All service busy! Please try again later...");
+                ScriptWorkerUnavailableException("All service busy! Please try again later...");
             }
 
-            worker.submit(tableAbsolutePath.toString());
-            final String convertMarkdown = worker.getResult();
-            worker.checkError();
+            worker.trace(extension, inputSize);
+            worker.busy = true;
 
-            return convertMarkdown;
+            final long taskStartTime = System.nanoTime();
+            final T    result        = task.execute(worker, tableAbsolutePath);
+
+            worker.markServed(System.nanoTime() - taskStartTime);
+
+            return result;
         }
-        catch (NotSupportFileExtension notSupport)
+        catch (NotSupportFileExtension | InvalidTableContent invalidTable)
         {
             throw new
-            ScriptWorkerException(notSupport.getMessage(), notSupport);
+            ScriptWorkerException(invalidTable.getMessage(), invalidTable);
         }
         catch (IOException | InterruptedException exception)
         {
@@ -583,14 +1424,14 @@ public class DefaultConvertServicePoolManager
 
             if (Objects.nonNull(worker))
             {
-                try { worker.restart(); }
+                try { worker.restart("Communication failed: " + exception.getMessage()); }
                 catch (InterruptedException restartException) {
                     log.error("Restart Python service failed!", restartException);
                 }
             }
 
             throw new
-            ScriptWorkerException(
+            ScriptWorkerUnavailableException(
                 String.format(
                     "Convert excel table to markdown failed! Caused by: %s",
                     exception.getMessage()
@@ -605,4 +1446,557 @@ public class DefaultConvertServicePoolManager
             }
         }
     }
-}
\ No newline at end of file
+
+    /** 经由标准输出管道取回转换结果。*/
+    private @NotNull String
+    convertOverPipe(
+        @NotNull  ScriptWorker   worker,
+        @NotNull  Path           tablePath,
+        @Nullable ConvertOptions options
+    ) throws IOException
+    {
+        if (Objects.isNull(options)) {
+            worker.submit(tablePath.toString());
+        }
+        else {
+            worker.submit(tablePath.toString(), null, false, options);
+        }
+
+        return worker.getResult();
+    }
+
+    /** 经由共享内存中的输出交接文件取回转换结果。*/
+    private @NotNull String
+    convertOverSharedMemory(
+        @NotNull  ScriptWorker        worker,
+        @NotNull  Path                tablePath,
+        @NotNull  SharedMemoryHandoff handoff,
+        @Nullable ConvertOptions      options
+    ) throws IOException
+    {
+        final Path output = handoff.createOutput();
+
+        try
+        {
+            worker.submit(tablePath.toString(), output.toString(), true, options);
+
+            // 标准输出上只剩下结果元数据与结束（或错误）标记，出错时交接文件里可能只有部分结果
+            if (worker.getOutputMeta().isEmpty())
+            {
+                throw new
+                ScriptWorkerException(
+                    String.format("Convert table %s to markdown failed!", tablePath)
+                );
+            }
+
+            return handoff.readOutput(output);
+        }
+        finally {
+            handoff.deleteQuietly(output);
+        }
+    }
+
+    /**
+     * 让服务把转换结果直接写入指定文件。
+     *
+     * @return 转换的工作表数量
+     */
+    private int
+    convertIntoFile(
+        @NotNull ScriptWorker worker,
+        @NotNull Path         tablePath,
+        @NotNull Path         output
+    ) throws IOException, InterruptedException
+    {
+        return this.convertIntoFile(worker, tablePath, output, null, null);
+    }
+
+    /**
+     * 让服务按选项把指定格式的转换结果直接写入指定文件。
+     *
+     * @param outputFormat 输出格式（为空时输出 Markdown）
+     *
+     * @return 转换的工作表数量
+     */
+    private int
+    convertIntoFile(
+        @NotNull  ScriptWorker   worker,
+        @NotNull  Path           tablePath,
+        @NotNull  Path           output,
+        @Nullable ConvertOptions options,
+        @Nullable String         outputFormat
+    ) throws IOException, InterruptedException
+    {
+        worker.submit(tablePath.toString(), output.toString(), false, options, outputFormat);
+
+        final Map<String, Object> outputMeta = worker.getOutputMeta();
+
+        worker.checkError();
+
+        if (outputMeta.isEmpty())
+        {
+            throw new
+            ScriptWorkerException(
+                String.format("Convert table %s to markdown failed!", tablePath)
+            );
+        }
+
+        return
+        ((Number) outputMeta.getOrDefault("sheets", 0)).intValue();
+    }
+
+    /** 创建一个临时文件来承接服务的转换结果（启用共享内存交接时创建在 tmpfs 上）。*/
+    private @NotNull Path
+    createSinkFile() throws IOException
+    {
+        return
+        (Objects.isNull(this.sharedMemoryHandoff))
+            ? Files.createTempFile("table_markdown", ".md")
+            : this.sharedMemoryHandoff.createOutput();
+    }
+
+    /** 把源文件通道的全部内容批量传输到目标通道。*/
+    private static long
+    transferAll(@NotNull FileChannel source, @NotNull WritableByteChannel destination)
+        throws IOException
+    {
+        final long size = source.size();
+        long position   = 0L;
+
+        while (position < size) {
+            position += source.transferTo(position, size - position, destination);
+        }
+
+        return size;
+    }
+
+    /** 文本按 UTF-8 编码后的字节数（不实际编码，也不分配内存）。*/
+    static long
+    utf8Length(@NotNull CharSequence text)
+    {
+        long bytes = 0L;
+
+        for (int index = 0; index < text.length(); ++index)
+        {
+            final char current = text.charAt(index);
+
+            if (current < 0x80) {
+                ++bytes;
+            }
+            else if (current < 0x800) {
+                bytes += 2L;
+            }
+            else if (Character.isHighSurrogate(current) &&
+                     index + 1 < text.length() &&
+                     Character.isLowSurrogate(text.charAt(index + 1)))
+            {
+                // 代理对编码成 4 个字节
+                bytes += 4L;
+                ++index;
+            }
+            else if (Character.isSurrogate(current)) {
+                // 落单的代理字符会被编码成 '?'
+                ++bytes;
+            }
+            else {
+                bytes += 3L;
+            }
+        }
+
+        return bytes;
+    }
+
+    /**
+     * 开放的执行转换接口 Excel -> Markdown
+     *
+     * @param tablePath 表格临时文件路径
+     *
+     * @return 转换完成后的 Markdown 文本
+     *
+     * @throws ScriptWorkerException 服务启动失败，转换失败最终抛出本异常
+     */
+    @Override
+    public String
+    convertTableToMarkdown(Path tablePath) throws ScriptWorkerException {
+        return this.convertTableToMarkdown(tablePath, (ConvertOptions) null);
+    }
+
+    /**
+     * 开放的执行转换接口 Excel -> Markdown（按选项筛选工作表、限制行数）。
+     * Python 服务只解析被选中的工作表，读满行数上限即停止。
+     *
+     * @param tablePath 表格文件路径
+     * @param options   转换选项（为空时完整转换）
+     *
+     * @return 转换完成后的 Markdown 文本
+     *
+     * @throws ScriptWorkerException 服务启动失败，转换失败最终抛出本异常
+     */
+    @Override
+    public String
+    convertTableToMarkdown(Path tablePath, ConvertOptions options) throws ScriptWorkerException
+    {
+        // 等同于完整转换的选项走原来的 markitdown 转换
+        final ConvertOptions effectiveOptions
+            = (Objects.nonNull(options) && !options.isFullConversion())
+                ? options : null;
+
+        return
+        this.executeWithWorker(tablePath, (worker, tableAbsolutePath) -> {
+            final SharedMemoryHandoff handoff = this.sharedMemoryHandoff;
+
+            try
+            {
+                return
+                (Objects.isNull(handoff))
+                    ? this.convertOverPipe(worker, tableAbsolutePath, effectiveOptions)
+                    : this.convertOverSharedMemory(worker, tableAbsolutePath, handoff, effectiveOptions);
+            }
+            finally {
+                // 转换失败时同样要取走标准错误上的错误信息，必要时重启服务
+                worker.checkError();
+            }
+        });
+    }
+
+    /**
+     * 开放的执行转换接口 Excel -> Markdown，
+     * 服务直接把转换结果写入目标所在目录下的临时文件，Markdown 文本不经过 JVM 堆，
+     * 转换成功后再用该文件整体替换目标。
+     *
+     * @param tablePath   表格文件路径
+     * @param destination 目标文件路径（已存在则在转换成功后整体替换，转换失败时保持原样）
+     *
+     * @return 写入字节数、工作表数量与耗时等元数据
+     *
+     * @throws ScriptWorkerException 服务启动失败，转换失败，写入目标失败最终抛出本异常
+     */
+    @Override
+    public ConvertSinkResult
+    convertTableToMarkdown(Path tablePath, Path destination) throws ScriptWorkerException
+    {
+        final long startTime = System.nanoTime();
+
+        final Path destinationAbsolutePath
+            = destination.toAbsolutePath().normalize();
+
+        Path output = null;
+
+        try
+        {
+            output = DestinationFiles.createSibling(destinationAbsolutePath);
+
+            final Path sinkFile = output;
+
+            final Integer sheetCount
+                = this.executeWithWorker(tablePath, (worker, tableAbsolutePath) ->
+                    this.convertIntoFile(worker, tableAbsolutePath, sinkFile)
+                );
+
+            if (Objects.isNull(sheetCount)) {
+                return null;
+            }
+
+            final long bytesWritten = Files.size(sinkFile);
+
+            DestinationFiles.commit(sinkFile, destinationAbsolutePath);
+            output = null;
+
+            return new
+            ConvertSinkResult(
+                bytesWritten, sheetCount,
+                Duration.ofNanos(System.nanoTime() - startTime)
+            );
+        }
+        catch (IOException exception)
+        {
+            throw new
+            ScriptWorkerException(
+                String.format(
+                    "Write markdown into %s failed! Caused by: %s",
+                    destinationAbsolutePath, exception.getMessage()
+                ),
+                exception
+            );
+        }
+        finally {
+            DestinationFiles.discard(output);
+        }
+    }
+
+    /**
+     * 开放的执行转换接口 Excel -> Markdown，
+     * 服务先把转换结果写入临时文件，归还服务后再通过通道批量传输到目标（本方法不会关闭该通道）。
+     *
+     * @param tablePath   表格文件路径
+     * @param destination 目标通道
+     *
+     * @return 写入字节数、工作表数量与耗时等元数据
+     *
+     * @throws ScriptWorkerException 服务启动失败，转换失败，写入目标失败最终抛出本异常
+     */
+    @Override
+    public ConvertSinkResult
+    convertTableToMarkdown(Path tablePath, WritableByteChannel destination) throws ScriptWorkerException
+    {
+        final long startTime = System.nanoTime();
+
+        Path output = null;
+
+        try
+        {
+            output = this.createSinkFile();
+
+            final Path sinkFile = output;
+
+            final Integer sheetCount
+                = this.executeWithWorker(tablePath, (worker, tableAbsolutePath) ->
+                    this.convertIntoFile(worker, tableAbsolutePath, sinkFile)
+                );
+
+            if (Objects.isNull(sheetCount)) {
+                return null;
+            }
+
+            // 服务已经归还，目标写得再慢也不会占用服务
+            try (FileChannel source = FileChannel.open(sinkFile, StandardOpenOption.READ))
+            {
+                final long bytesWritten = transferAll(source, destination);
+
+                return new
+                ConvertSinkResult(
+                    bytesWritten, sheetCount,
+                    Duration.ofNanos(System.nanoTime() - startTime)
+                );
+            }
+        }
+        catch (IOException exception)
+        {
+            throw new
+            ScriptWorkerException(
+                String.format(
+                    "Transfer markdown into destination failed! Caused by: %s",
+                    exception.getMessage()
+                ),
+                exception
+            );
+        }
+        finally
+        {
+            if (Objects.nonNull(output))
+            {
+                try { Files.deleteIfExists(output); }
+                catch (IOException exception) {
+                    log.warn("Cannot delete temp file: {}", output, exception);
+                }
+            }
+        }
+    }
+
+    /**
+     * 开放的执行转换接口 Excel -> 列式表格，
+     * 服务把带类型的列式编码写入临时文件（启用共享内存交接时位于 tmpfs 上），
+     * 归还服务后再映射该文件解码，不经过 Markdown 文本的序列化与解析。
+     *
+     * @param tablePath 表格文件路径
+     * @param options   转换选项（为空时完整转换）
+     *
+     * @return 转换完成后的列式表格
+     *
+     * @throws ScriptWorkerException 服务启动失败，转换失败，解码失败最终抛出本异常
+     */
+    @Override
+    public TableDocument
+    convertTableToDocument(Path tablePath, ConvertOptions options) throws ScriptWorkerException
+    {
+        final ConvertOptions effectiveOptions
+            = (Objects.nonNull(options) && !options.isFullConversion())
+                ? options : null;
+
+        Path output = null;
+
+        try
+        {
+            output = this.createSinkFile();
+
+            final Path columnarFile = output;
+
+            final Integer sheetCount
+                = this.executeWithWorker(tablePath, (worker, tableAbsolutePath) ->
+                    this.convertIntoFile(
+                        worker, tableAbsolutePath, columnarFile,
+                        effectiveOptions, ScriptWorker.COLUMNAR_FORMAT
+                    )
+                );
+
+            if (Objects.isNull(sheetCount)) {
+                return null;
+            }
+
+            // 服务已经归还，解码不占用服务
+            try (FileChannel channel = FileChannel.open(columnarFile, StandardOpenOption.READ))
+            {
+                MappedByteBuffer region
+                    = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+
+                return TableDocument.decode(region);
+            }
+        }
+        catch (IOException | IllegalArgumentException exception)
+        {
+            throw new
+            ScriptWorkerException(
+                String.format(
+                    "Read columnar table document failed! Caused by: %s",
+                    exception.getMessage()
+                ),
+                exception
+            );
+        }
+        finally
+        {
+            if (Objects.nonNull(output))
+            {
+                try { Files.deleteIfExists(output); }
+                catch (IOException exception) {
+                    log.warn("Cannot delete temp file: {}", output, exception);
+                }
+            }
+        }
+    }
+
+    /**
+     * 开放的执行转换接口 Excel -> Markdown（直接接收表格文件内容）。
+     * 表格内容会先写入临时文件再交给 Python 服务（转换后删除）：默认位于系统临时目录，
+     * 启用共享内存交接时写入 tmpfs 上的内存映射文件，不再经过磁盘。
+     *
+     * @param tableBytes 表格文件内容
+     * @param fileName   原始文件名（需带扩展名）
+     *
+     * @return 转换完成后的 Markdown 文本
+     *
+     * @throws ScriptWorkerException 服务启动失败，转换失败最终抛出本异常
+     */
+    @Override
+    public String
+    convertTableToMarkdown(byte[] tableBytes, String fileName) throws ScriptWorkerException
+    {
+        final SharedMemoryHandoff handoff = this.sharedMemoryHandoff;
+
+        if (Objects.isNull(handoff)) {
+            return ConvertServicePoolManager.super.convertTableToMarkdown(tableBytes, fileName);
+        }
+
+        Path input = null;
+
+        try
+        {
+            FileExtensionChecker.check(fileName);
+
+            input = handoff.writeInput(tableBytes, fileName);
+
+            return this.convertTableToMarkdown(input);
+        }
+        catch (NotSupportFileExtension notSupport)
+        {
+            throw new
+            ScriptWorkerException(notSupport.getMessage(), notSupport);
+        }
+        catch (IOException exception)
+        {
+            throw new
+            ScriptWorkerException(
+                String.format(
+                    "Write table into shared memory failed! Caused by: %s",
+                    exception.getMessage()
+                ),
+                exception
+            );
+        }
+        finally {
+            handoff.deleteQuietly(input);
+        }
+    }
+
+    /**
+     * 开放的执行转换接口 Excel -> Markdown（工作表级别的增量转换），
+     * 未设置增量转换器时退化为完整转换。
+     *
+     * @param tablePath 表格文件路径
+     *
+     * @return 转换完成后的 Markdown 文本
+     *
+     * @throws ScriptWorkerException 服务启动失败，转换失败最终抛出本异常
+     */
+    @Override
+    public String
+    convertTableToMarkdownIncrementally(Path tablePath) throws ScriptWorkerException
+    {
+        final IncrementalConverter converter = this.incrementalConverter;
+
+        if (Objects.isNull(converter)) {
+            return this.convertTableToMarkdown(tablePath);
+        }
+
+        // 计算指纹之前先预检，坏文件与 ZIP 炸弹不进入 XML 解析
+        if (Objects.nonNull(this.tableContentValidator))
+        {
+            try {
+                this.tableContentValidator.validate(tablePath);
+            }
+            catch (NotSupportFileExtension | InvalidTableContent invalidTable)
+            {
+                throw new
+                ScriptWorkerException(invalidTable.getMessage(), invalidTable);
+            }
+        }
+
+        return converter.convert(this, tablePath);
+    }
+
+    /**
+     * 开放的执行转换接口 ZIP 压缩包 -> Markdown，
+     * 并发度取服务池大小，压缩包限制沿用表格内容预检器的限制（未设置预检器时使用默认限制）。
+     *
+     * @param archivePath ZIP 压缩包路径
+     *
+     * @return 按条目在压缩包中的顺序排列的转换结果（单个条目失败不影响其他条目）
+     *
+     * @throws ScriptWorkerException 压缩包损坏，条目数量或解压后大小超出限制时抛出本异常
+     */
+    @Override
+    public List<ArchiveEntryResult>
+    convertArchiveToMarkdown(Path archivePath) throws ScriptWorkerException {
+        return this.createArchiveConverter().convert(archivePath);
+    }
+
+    /**
+     * 开放的执行转换接口 ZIP 压缩包 -> Markdown（边读取输入流边转换，本方法不会关闭该流）。
+     *
+     * @param archiveStream ZIP 压缩包输入流
+     *
+     * @return 按条目在压缩包中的顺序排列的转换结果（单个条目失败不影响其他条目）
+     *
+     * @throws ScriptWorkerException 压缩包损坏，条目数量或解压后大小超出限制时抛出本异常
+     */
+    @Override
+    public List<ArchiveEntryResult>
+    convertArchiveToMarkdown(InputStream archiveStream) throws ScriptWorkerException {
+        return this.createArchiveConverter().convert(archiveStream);
+    }
+
+    /** 按当前的服务池大小与预检限制创建压缩包转换器。*/
+    private @NotNull ArchiveConverter
+    createArchiveConverter()
+    {
+        final TableContentValidator validator = this.tableContentValidator;
+
+        return new
+        ArchiveConverter(
+            this, this.getPoolSize(),
+            Objects.nonNull(validator)
+                ? validator.getLimits()
+                : TableContentValidator.Limits.defaults()
+        );
+    }
+}
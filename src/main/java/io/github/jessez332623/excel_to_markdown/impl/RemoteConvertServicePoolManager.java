@@ -0,0 +1,418 @@
+package io.github.jessez332623.excel_to_markdown.impl;
+
+import io.github.jessez332623.excel_to_markdown.ConvertServicePoolManager;
+import io.github.jessez332623.excel_to_markdown.exception.NotSupportFileExtension;
+import io.github.jessez332623.excel_to_markdown.exception.exports.ScriptWorkerException;
+import io.github.jessez332623.excel_to_markdown.exception.exports.ScriptWorkerUnavailableException;
+import io.github.jessez332623.excel_to_markdown.model.ConvertOptions;
+import io.github.jessez332623.excel_to_markdown.model.TableDocument;
+import io.github.jessez332623.excel_to_markdown.utils.FileExtensionChecker;
+import io.github.jessez332623.excel_to_markdown.utils.RemoteProtocol;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.json.JsonWriter;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 把转换请求分发到远程转换节点集群的服务池管理器实现。<br/>
+ * 每次请求选择未完成请求数最少的健康节点（least outstanding requests），未完成请求数相同的节点之间轮流选择，
+ * 节点不可用或繁忙时依次故障转移到其他节点，后台定期对所有节点做健康检查。
+ * 远程节点由 {@link io.github.jessez332623.excel_to_markdown.server.ConvertServiceServer} 提供。
+ */
+@Slf4j
+public class RemoteConvertServicePoolManager
+    implements InitializingBean, DisposableBean, ConvertServicePoolManager
+{
+    /** 健康检查请求的超时时间 */
+    private static final Duration HEALTH_CHECK_TIMEOUT = Duration.ofSeconds(2L);
+
+    /** 节点的优先顺序：健康节点优先，其次是未完成请求数少的节点 */
+    private static final Comparator<RemoteNode> NODE_PREFERENCE
+        = Comparator.comparing((RemoteNode node) -> !node.healthy)
+                    .thenComparingInt((node) -> node.outstanding.get());
+
+    /** 所有远程节点 */
+    private final List<RemoteNode> nodes;
+
+    /** 单次转换请求的超时时间 */
+    private final Duration requestTimeout;
+
+    /** 健康检查的间隔 */
+    private final Duration healthCheckInterval;
+
+    private final HttpClient httpClient;
+
+    /** 健康检查调度器 */
+    private ScheduledExecutorService healthChecker;
+
+    /** 每次选择节点时的起点（轮转），避免空闲时总是选中第一个节点 */
+    private final AtomicInteger rotation = new AtomicInteger(0);
+
+    public RemoteConvertServicePoolManager(
+        @NotNull List<URI> nodeUris,
+        @NotNull Duration  requestTimeout,
+        @NotNull Duration  healthCheckInterval
+    )
+    {
+        if (nodeUris.isEmpty()) {
+            throw new IllegalArgumentException("At least one remote converter node is required!");
+        }
+
+        this.nodes
+            = nodeUris.stream()
+                      .map(RemoteNode::new)
+                      .toList();
+
+        this.requestTimeout      = requestTimeout;
+        this.healthCheckInterval = healthCheckInterval;
+
+        this.httpClient
+            = HttpClient.newBuilder()
+                        .connectTimeout(HEALTH_CHECK_TIMEOUT)
+                        .build();
+    }
+
+    /** 单个远程节点的抽象 */
+    private static final class RemoteNode
+    {
+        /** 节点的根地址（总是以 / 结尾）*/
+        private final URI baseUri;
+
+        /** 节点上未完成的请求数 */
+        private final AtomicInteger outstanding = new AtomicInteger(0);
+
+        /** 最近一次健康检查（或请求）的结果 */
+        private volatile boolean healthy = true;
+
+        private RemoteNode(@NotNull URI baseUri)
+        {
+            // 协议路径是相对路径，根地址不以 / 结尾时，最后一段路径会在解析时被替换掉
+            this.baseUri
+                = baseUri.getPath().endsWith("/")
+                    ? baseUri
+                    : URI.create(baseUri + "/");
+        }
+
+        private URI resolve(String path) {
+            return this.baseUri.resolve(path);
+        }
+    }
+
+    /** 由 Spring 容器在注入属性之后调用。*/
+    @Override
+    public void afterPropertiesSet() {
+        this.init();
+    }
+
+    /**
+     * 启动后台健康检查（服务器开机时经由 afterPropertiesSet() 自动执行，
+     * 在 Spring 容器之外使用时，需要手动调用）。
+     */
+    public void
+    init()
+    {
+        this.healthChecker
+            = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+                Thread thread = new Thread(runnable, "remote-converter-health-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        final long intervalMillis = this.healthCheckInterval.toMillis();
+
+        this.healthChecker.scheduleWithFixedDelay(
+            this::checkAllNodes, 0L, intervalMillis, TimeUnit.MILLISECONDS
+        );
+    }
+
+    /** 停止后台健康检查。*/
+    @Override
+    public void destroy()
+    {
+        if (Objects.nonNull(this.healthChecker)) {
+            this.healthChecker.shutdownNow();
+        }
+    }
+
+    /** 对所有节点做一轮健康检查。*/
+    private void checkAllNodes()
+    {
+        for (RemoteNode node : this.nodes)
+        {
+            HttpRequest request
+                = HttpRequest.newBuilder(node.resolve(RemoteProtocol.HEALTH_PATH))
+                             .timeout(HEALTH_CHECK_TIMEOUT)
+                             .GET()
+                             .build();
+
+            this.httpClient
+                .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, throwable) -> {
+                    final boolean healthy
+                        = Objects.isNull(throwable) && response.statusCode() == 200;
+
+                    if (node.healthy != healthy)
+                    {
+                        log.info(
+                            "Remote converter node {} is now {}.",
+                            node.baseUri, healthy ? "healthy" : "unhealthy"
+                        );
+                    }
+
+                    node.healthy = healthy;
+                });
+        }
+    }
+
+    /**
+     * 选择未完成请求数最少的节点，
+     * 优先选择健康节点，所有健康节点都尝试过后再尝试其余节点（健康状态可能已经过时）。
+     * 条件相同的节点之间从轮转的起点开始选择，请求依次落到各个节点上。
+     */
+    private @Nullable RemoteNode
+    pickNode(@NotNull Set<RemoteNode> triedNodes)
+    {
+        final int nodeCount = this.nodes.size();
+        final int start     = Math.floorMod(this.rotation.getAndIncrement(), nodeCount);
+
+        RemoteNode picked = null;
+
+        for (int offset = 0; offset < nodeCount; ++offset)
+        {
+            final RemoteNode node = this.nodes.get((start + offset) % nodeCount);
+
+            if (triedNodes.contains(node)) {
+                continue;
+            }
+
+            if (Objects.isNull(picked) || NODE_PREFERENCE.compare(node, picked) < 0) {
+                picked = node;
+            }
+        }
+
+        return picked;
+    }
+
+    /**
+     * 把转换请求分发给远程节点，节点失败时故障转移到下一个节点。
+     *
+     * @param body     请求体（表格文件内容）
+     * @param fileName 原始文件名
+     * @param options  转换选项（为空时完整转换）
+     *
+     * @return 转换完成后的 Markdown 文本
+     */
+    private @NotNull String
+    dispatch(
+        @NotNull  HttpRequest.BodyPublisher body,
+        @NotNull  String                    fileName,
+        @Nullable ConvertOptions            options
+    )
+    {
+        final Set<RemoteNode> triedNodes = new HashSet<>();
+
+        RemoteNode node;
+
+        while (Objects.nonNull(node = this.pickNode(triedNodes)))
+        {
+            triedNodes.add(node);
+            node.outstanding.incrementAndGet();
+
+            try
+            {
+                HttpRequest.Builder request
+                    = HttpRequest.newBuilder(node.resolve(RemoteProtocol.CONVERT_PATH))
+                                 .timeout(this.requestTimeout)
+                                 .header(
+                                     RemoteProtocol.FILE_NAME_HEADER,
+                                     URLEncoder.encode(fileName, StandardCharsets.UTF_8)
+                                 )
+                                 .POST(body);
+
+                if (Objects.nonNull(options))
+                {
+                    request.header(
+                        RemoteProtocol.OPTIONS_HEADER,
+                        JsonWriter.standard().writeToString(options.toRequestOptions())
+                    );
+                }
+
+                HttpResponse<String> response
+                    = this.httpClient.send(
+                        request.build(),
+                        HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)
+                    );
+
+                final int status = response.statusCode();
+
+                if (status == 200)
+                {
+                    node.healthy = true;
+                    return response.body();
+                }
+
+                // 4xx 是请求本身的问题，换个节点也没用
+                if (status >= 400 && status < 500)
+                {
+                    throw new
+                    ScriptWorkerException(
+                        String.format(
+                            "Remote converter node %s rejected the table! Caused by: %s",
+                            node.baseUri, response.body()
+                        )
+                    );
+                }
+
+                log.warn(
+                    "Remote converter node {} responded {}, try next node. Caused by: {}",
+                    node.baseUri, status, response.body()
+                );
+            }
+            catch (IOException exception)
+            {
+                node.healthy = false;
+
+                log.warn(
+                    "Remote converter node {} is unreachable, try next node. Caused by: {}",
+                    node.baseUri, exception.getMessage()
+                );
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+
+                throw new
+                ScriptWorkerException("Interrupted while waiting for remote converter node!", exception);
+            }
+            finally {
+                node.outstanding.decrementAndGet();
+            }
+        }
+
+        throw new
+        ScriptWorkerUnavailableException("All remote converter nodes failed! Please try again later...");
+    }
+
+    /**
+     * 开放的执行转换接口 Excel -> Markdown（由远程节点完成转换）
+     *
+     * @param tablePath 表格文件路径
+     *
+     * @return 转换完成后的 Markdown 文本
+     *
+     * @throws ScriptWorkerException 表格被节点拒绝时抛出本异常，
+     *                               所有节点都不可用时抛出 {@link ScriptWorkerUnavailableException}
+     */
+    @Override
+    public String
+    convertTableToMarkdown(Path tablePath) throws ScriptWorkerException {
+        return this.convertTableToMarkdown(tablePath, (ConvertOptions) null);
+    }
+
+    /**
+     * 开放的执行转换接口 Excel -> Markdown（按选项筛选工作表、限制行数，由远程节点完成转换）
+     *
+     * @param tablePath 表格文件路径
+     * @param options   转换选项（为空时完整转换）
+     *
+     * @return 转换完成后的 Markdown 文本
+     *
+     * @throws ScriptWorkerException 所有节点都转换失败最终抛出本异常
+     */
+    @Override
+    public String
+    convertTableToMarkdown(Path tablePath, ConvertOptions options) throws ScriptWorkerException
+    {
+        final Path tableAbsolutePath
+            = tablePath.toAbsolutePath().normalize();
+
+        try
+        {
+            FileExtensionChecker.check(tableAbsolutePath.toString());
+
+            if (!Files.exists(tableAbsolutePath)) {
+                throw new FileNotFoundException(tableAbsolutePath.toString());
+            }
+
+            return
+            this.dispatch(
+                HttpRequest.BodyPublishers.ofFile(tableAbsolutePath),
+                tableAbsolutePath.getFileName().toString(),
+                options
+            );
+        }
+        catch (NotSupportFileExtension notSupport)
+        {
+            throw new
+            ScriptWorkerException(notSupport.getMessage(), notSupport);
+        }
+        catch (FileNotFoundException notFound)
+        {
+            throw new
+            ScriptWorkerException(
+                String.format("Table which from %s is not exist...", tableAbsolutePath),
+                notFound
+            );
+        }
+    }
+
+    /**
+     * 远程节点目前只返回 Markdown 文本，不支持列式转换结果。
+     *
+     * @throws ScriptWorkerException 总是抛出本异常
+     */
+    @Override
+    public TableDocument
+    convertTableToDocument(Path tablePath, ConvertOptions options) throws ScriptWorkerException
+    {
+        throw new
+        ScriptWorkerException("Remote converter nodes do not support columnar output!");
+    }
+
+    /**
+     * 开放的执行转换接口 Excel -> Markdown（直接把表格文件内容发送给远程节点）
+     *
+     * @param tableBytes 表格文件内容
+     * @param fileName   原始文件名（需带扩展名）
+     *
+     * @return 转换完成后的 Markdown 文本
+     *
+     * @throws ScriptWorkerException 所有节点都转换失败最终抛出本异常
+     */
+    @Override
+    public String
+    convertTableToMarkdown(byte[] tableBytes, String fileName) throws ScriptWorkerException
+    {
+        try
+        {
+            FileExtensionChecker.check(fileName);
+
+            return
+            this.dispatch(HttpRequest.BodyPublishers.ofByteArray(tableBytes), fileName, null);
+        }
+        catch (NotSupportFileExtension notSupport)
+        {
+            throw new
+            ScriptWorkerException(notSupport.getMessage(), notSupport);
+        }
+    }
+}
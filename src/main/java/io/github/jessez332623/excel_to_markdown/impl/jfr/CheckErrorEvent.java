@@ -0,0 +1,11 @@
+package io.github.jessez332623.excel_to_markdown.impl.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** 检查服务标准错误（checkError）的 JFR 事件。 */
+@Name("io.github.jessez332623.excel_to_markdown.CheckError")
+@Label("Check Error")
+@Description("Time spent draining and inspecting the worker stderr")
+public final class CheckErrorEvent extends ConversionPhaseEvent {}
@@ -0,0 +1,43 @@
+package io.github.jessez332623.excel_to_markdown.impl.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * 转换各阶段 JFR 事件的公共字段，
+ * 与同一份记录中的 GC、I/O 事件对齐后，即可定位线上转换延迟的来源。
+ */
+@Category({ "Excel To Markdown", "Conversion" })
+@StackTrace(false)
+public abstract class ConversionPhaseEvent extends Event
+{
+    @Label("File Extension")
+    @Description("Extension of the converted table file")
+    public String fileExtension;
+
+    @Label("Input Size")
+    @DataAmount
+    public long inputSize;
+
+    @Label("Output Size")
+    @Description("Size of the markdown output, -1 when not known in this phase")
+    @DataAmount
+    public long outputSize = -1L;
+
+    @Label("Worker PID")
+    @Description("PID of the Python worker process, -1 when no worker is involved")
+    public long workerPid = -1L;
+
+    /** 填充公共字段。*/
+    public void
+    describe(String fileExtension, long inputSize, long workerPid)
+    {
+        this.fileExtension = fileExtension;
+        this.inputSize     = inputSize;
+        this.workerPid     = workerPid;
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.jessez332623.excel_to_markdown.impl.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Python 服务执行转换（提交完成至首行结果到达）的 JFR 事件。 */
+@Name("io.github.jessez332623.excel_to_markdown.PythonConversion")
+@Label("Python Conversion")
+@Description("Time between the submitted request and the first output line of the Python worker")
+public final class PythonConversionEvent extends ConversionPhaseEvent {}
@@ -0,0 +1,11 @@
+package io.github.jessez332623.excel_to_markdown.impl.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** 等待池中空闲服务（pollService）的 JFR 事件。 */
+@Name("io.github.jessez332623.excel_to_markdown.QueueWait")
+@Label("Worker Queue Wait")
+@Description("Time spent waiting for an idle Python worker")
+public final class QueueWaitEvent extends ConversionPhaseEvent {}
@@ -0,0 +1,11 @@
+package io.github.jessez332623.excel_to_markdown.impl.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** 读取转换结果（getResult 或读取输出文件）的 JFR 事件。 */
+@Name("io.github.jessez332623.excel_to_markdown.ResultRead")
+@Label("Result Read")
+@Description("Time spent reading the conversion result")
+public final class ResultReadEvent extends ConversionPhaseEvent {}
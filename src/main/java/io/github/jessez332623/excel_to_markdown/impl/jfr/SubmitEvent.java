@@ -0,0 +1,11 @@
+package io.github.jessez332623.excel_to_markdown.impl.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** 向服务提交任务（写入请求行）的 JFR 事件。 */
+@Name("io.github.jessez332623.excel_to_markdown.Submit")
+@Label("Submit")
+@Description("Time spent writing the request to the Python worker")
+public final class SubmitEvent extends ConversionPhaseEvent {}
@@ -0,0 +1,18 @@
+package io.github.jessez332623.excel_to_markdown.impl.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** 服务重启的 JFR 事件（workerPid 为重启前的 PID）。*/
+@Name("io.github.jessez332623.excel_to_markdown.WorkerRestart")
+@Label("Worker Restart")
+@Description("A Python worker was restarted")
+public final class WorkerRestartEvent extends ConversionPhaseEvent
+{
+    @Label("Cause")
+    public String cause;
+
+    @Label("New Worker PID")
+    public long newWorkerPid = -1L;
+}
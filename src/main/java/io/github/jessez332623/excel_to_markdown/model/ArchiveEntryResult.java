@@ -0,0 +1,27 @@
+package io.github.jessez332623.excel_to_markdown.model;
+
+import io.github.jessez332623.excel_to_markdown.exception.exports.ScriptWorkerException;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * 压缩包中单个表格条目的转换结果，
+ * 某个条目转换失败不影响其他条目，失败原因记录在 error 中。
+ *
+ * @param entryName 条目在压缩包中的完整路径
+ * @param markdown  转换完成后的 Markdown 文本（转换失败时为 null）
+ * @param error     转换失败的原因（转换成功时为 null）
+ */
+public record ArchiveEntryResult(
+    String                          entryName,
+    @Nullable String                markdown,
+    @Nullable ScriptWorkerException error
+)
+{
+    /** 本条目是否转换成功？*/
+    public boolean
+    isSuccess() {
+        return Objects.isNull(this.error);
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.jessez332623.excel_to_markdown.model;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 转换选项：选择要转换的工作表，以及每个工作表最多转换多少行（用于上传后的快速预览）。
+ *
+ * <pre>{@code
+ * ConvertOptions preview
+ *     = ConvertOptions.builder()
+ *                     .sheetName("汇总")
+ *                     .sheetIndex(0)
+ *                     .maxRowsPerSheet(50)
+ *                     .build();
+ * }</pre>
+ */
+@Getter
+@Builder
+@ToString
+public class ConvertOptions
+{
+    /** 按名称选择的工作表（与 sheetIndexes 取并集，两者皆空时转换全部工作表）*/
+    @Singular
+    private final Set<String> sheetNames;
+
+    /** 按下标（从 0 开始）选择的工作表 */
+    @Singular
+    private final Set<Integer> sheetIndexes;
+
+    /** 每个工作表最多转换多少行数据（不含表头，小于等于 0 表示不限制）*/
+    @Builder.Default
+    private final int maxRowsPerSheet = 0;
+
+    /** 本选项是否等同于完整转换（不筛选工作表，也不限制行数）？*/
+    public boolean
+    isFullConversion()
+    {
+        return
+        this.sheetNames.isEmpty() &&
+        this.sheetIndexes.isEmpty() &&
+        this.maxRowsPerSheet <= 0;
+    }
+
+    /** 转换成发给 Python 服务的请求参数。*/
+    public Map<String, Object>
+    toRequestOptions()
+    {
+        final Map<String, Object> requestOptions = new LinkedHashMap<>();
+
+        requestOptions.put("sheets",       this.sheetNames);
+        requestOptions.put("sheetIndexes", this.sheetIndexes);
+        requestOptions.put("maxRows",      Math.max(this.maxRowsPerSheet, 0));
+
+        return requestOptions;
+    }
+
+    /** 从请求参数（{@link #toRequestOptions()} 的结果）还原转换选项。*/
+    public static ConvertOptions
+    fromRequestOptions(Map<String, Object> requestOptions)
+    {
+        ConvertOptionsBuilder builder = ConvertOptions.builder();
+
+        if (requestOptions.get("sheets") instanceof Collection<?> sheets) {
+            sheets.forEach((sheet) -> builder.sheetName(String.valueOf(sheet)));
+        }
+
+        if (requestOptions.get("sheetIndexes") instanceof Collection<?> sheetIndexes)
+        {
+            sheetIndexes.stream()
+                        .filter(Objects::nonNull)
+                        .forEach((index) -> builder.sheetIndex(((Number) index).intValue()));
+        }
+
+        if (requestOptions.get("maxRows") instanceof Number maxRows) {
+            builder.maxRowsPerSheet(maxRows.intValue());
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.jessez332623.excel_to_markdown.model;
+
+import java.time.Duration;
+
+/**
+ * 把转换结果直接写入目标（文件、输出流、通道）时返回的元数据，
+ * Markdown 文本本身不会出现在 JVM 堆上。
+ *
+ * @param bytesWritten 写入目标的字节数
+ * @param sheetCount   转换的工作表数量（无法得知时为 {@link #UNKNOWN_SHEET_COUNT}）
+ * @param duration     本次转换（含写入目标）的耗时
+ */
+public record ConvertSinkResult(long bytesWritten, int sheetCount, Duration duration)
+{
+    /** 工作表数量未知（比如只拿到 Markdown 文本的默认实现）*/
+    public static final int UNKNOWN_SHEET_COUNT = -1;
+}
@@ -0,0 +1,264 @@
+package io.github.jessez332623.excel_to_markdown.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.BitSet;
+
+/**
+ * 列式转换结果中的一列：列名、列类型、空值掩码与对应类型的值数组。<br/>
+ * 按类型读取单元格时，调用方需先用 {@link #isNull(int)} 判断空值，空单元格上读到的是类型的零值。
+ */
+@Getter
+public final class TableColumn
+{
+    /** 列类型（编码值与 Python 服务写入的类型码一致）*/
+    public enum Type
+    {
+        STRING, INT64, DOUBLE, BOOLEAN;
+
+        /** 依据类型码解析列类型。*/
+        static @NotNull Type
+        fromCode(int code)
+        {
+            if (code < 0 || code >= values().length)
+            {
+                throw new
+                IllegalArgumentException(
+                    String.format("Unknown column type code: %d", code)
+                );
+            }
+
+            return values()[code];
+        }
+    }
+
+    /** 列名（表头，可能为空串）*/
+    private final String name;
+
+    /** 列类型 */
+    private final Type type;
+
+    /** 行数 */
+    private final int rowCount;
+
+    /** 空值掩码（第 i 位为 1 表示第 i 行为空）*/
+    @Getter(AccessLevel.NONE)
+    private final BitSet nulls;
+
+    @Getter(AccessLevel.NONE)
+    private final long[] longs;
+
+    @Getter(AccessLevel.NONE)
+    private final double[] doubles;
+
+    @Getter(AccessLevel.NONE)
+    private final boolean[] booleans;
+
+    @Getter(AccessLevel.NONE)
+    private final String[] strings;
+
+    TableColumn(
+        @NotNull  String    name,
+        @NotNull  Type      type,
+        int                 rowCount,
+        @NotNull  BitSet    nulls,
+        @Nullable long[]    longs,
+        @Nullable double[]  doubles,
+        @Nullable boolean[] booleans,
+        @Nullable String[]  strings
+    )
+    {
+        this.name     = name;
+        this.type     = type;
+        this.rowCount = rowCount;
+        this.nulls    = nulls;
+        this.longs    = longs;
+        this.doubles  = doubles;
+        this.booleans = booleans;
+        this.strings  = strings;
+    }
+
+    /** 第 row 行是否为空？*/
+    public boolean
+    isNull(int row) {
+        return this.nulls.get(row);
+    }
+
+    /** 读取 INT64 列第 row 行的值。*/
+    public long
+    getLong(int row)
+    {
+        this.requireType(Type.INT64);
+        return this.longs[row];
+    }
+
+    /** 读取 DOUBLE 列第 row 行的值（INT64 列会被拓宽）。*/
+    public double
+    getDouble(int row)
+    {
+        if (this.type == Type.INT64) {
+            return this.longs[row];
+        }
+
+        this.requireType(Type.DOUBLE);
+        return this.doubles[row];
+    }
+
+    /** 读取 BOOLEAN 列第 row 行的值。*/
+    public boolean
+    getBoolean(int row)
+    {
+        this.requireType(Type.BOOLEAN);
+        return this.booleans[row];
+    }
+
+    /** 读取 STRING 列第 row 行的值（空单元格返回 null）。*/
+    public @Nullable String
+    getString(int row)
+    {
+        this.requireType(Type.STRING);
+        return this.isNull(row) ? null : this.strings[row];
+    }
+
+    /** 以装箱对象读取第 row 行的值（空单元格返回 null）。*/
+    public @Nullable Object
+    getValue(int row)
+    {
+        if (this.isNull(row)) {
+            return null;
+        }
+
+        return
+        switch (this.type)
+        {
+            case STRING  -> this.strings[row];
+            case INT64   -> this.longs[row];
+            case DOUBLE  -> this.doubles[row];
+            case BOOLEAN -> this.booleans[row];
+        };
+    }
+
+    /** 第 row 行渲染成 Markdown 单元格的文本（与 Python 服务快速路径的格式一致）。*/
+    @NotNull String
+    formatCell(int row)
+    {
+        if (this.isNull(row)) {
+            return "";
+        }
+
+        return
+        switch (this.type)
+        {
+            case STRING  -> escapeCell(this.strings[row]);
+            case INT64   -> Long.toString(this.longs[row]);
+            case DOUBLE  -> formatDouble(this.doubles[row]);
+            case BOOLEAN -> this.booleans[row] ? "True" : "False";
+        };
+    }
+
+    /**
+     * 按 Python str(float) 的规则格式化小数：最短的可还原数字，
+     * 十进制指数在 [-4, 16) 之间时用定点表示（整数值带 “.0”），否则用科学计数法（如 1e+16、1.5e-05）。
+     */
+    static @NotNull String
+    formatDouble(double value)
+    {
+        if (Double.isNaN(value)) {
+            return "nan";
+        }
+
+        if (Double.isInfinite(value)) {
+            return (value > 0) ? "inf" : "-inf";
+        }
+
+        if (value == 0.0) {
+            return (Double.doubleToRawLongBits(value) < 0L) ? "-0.0" : "0.0";
+        }
+
+        // Double.toString 给出最短的可还原数字，只需要换一种排版
+        BigDecimal decimal
+            = new BigDecimal(Double.toString(value)).stripTrailingZeros();
+
+        // 一位数字就能还原时 Double.toString 仍会给出两位（如 4.9E-324），Python 给出一位（5e-324）
+        if (decimal.precision() == 2)
+        {
+            final BigDecimal oneDigit = decimal.round(new MathContext(1, RoundingMode.HALF_EVEN));
+
+            if (oneDigit.doubleValue() == value) {
+                decimal = oneDigit.stripTrailingZeros();
+            }
+        }
+
+        final String digits   = decimal.unscaledValue().abs().toString();
+        final int    exponent = digits.length() - 1 - decimal.scale();
+
+        StringBuilder text = new StringBuilder();
+
+        if (decimal.signum() < 0) {
+            text.append('-');
+        }
+
+        if (exponent < -4 || exponent >= 16)
+        {
+            text.append(digits.charAt(0));
+
+            if (digits.length() > 1) {
+                text.append('.').append(digits, 1, digits.length());
+            }
+
+            text.append('e').append(exponent < 0 ? '-' : '+');
+
+            if (Math.abs(exponent) < 10) {
+                text.append('0');
+            }
+
+            return text.append(Math.abs(exponent)).toString();
+        }
+
+        if (exponent < 0)
+        {
+            text.append("0.").append("0".repeat(-exponent - 1)).append(digits);
+        }
+        else if (exponent >= digits.length() - 1)
+        {
+            text.append(digits).append("0".repeat(exponent - digits.length() + 1)).append(".0");
+        }
+        else
+        {
+            text.append(digits, 0, exponent + 1)
+                .append('.')
+                .append(digits, exponent + 1, digits.length());
+        }
+
+        return text.toString();
+    }
+
+    /** 转义 Markdown 表格中的竖线，并把换行折叠成空格。*/
+    static @NotNull String
+    escapeCell(@NotNull String text)
+    {
+        return
+        text.replace("|", "\\|")
+            .replace("\r\n", " ")
+            .replace('\n', ' ')
+            .replace('\r', ' ');
+    }
+
+    private void
+    requireType(@NotNull Type expected)
+    {
+        if (this.type != expected)
+        {
+            throw new
+            IllegalStateException(
+                String.format("Column %s is %s, not %s!", this.name, this.type, expected)
+            );
+        }
+    }
+}
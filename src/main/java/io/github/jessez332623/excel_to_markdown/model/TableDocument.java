@@ -0,0 +1,240 @@
+package io.github.jessez332623.excel_to_markdown.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 列式转换结果：Python 服务直接写出的列式二进制编码解码而来，
+ * 下游按列、按类型读取单元格，无需再把 Markdown 文本解析回表格，需要文本时调用 {@link #toMarkdown()}。
+ *
+ * <pre>
+ * 编码格式（小端序）：
+ * 文件头    magic "XTMC" | version u16 | sheetCount u32
+ * 工作表    name str | rowCount u32 | columnCount u32 | 列 * columnCount
+ * 列        name str | type u8 | 空值掩码 ceil(rowCount / 8) 字节 | 值
+ * 值        INT64 / DOUBLE：rowCount * 8 字节；BOOLEAN：rowCount 字节；
+ *           STRING：(rowCount + 1) 个 u32 偏移量 + UTF-8 数据
+ * str       u32 长度 + UTF-8 数据
+ * </pre>
+ *
+ * @param sheets 按工作簿顺序排列的工作表
+ */
+public record TableDocument(List<TableSheet> sheets)
+{
+    /** 列式编码的魔数 */
+    private static final byte[] MAGIC = { 'X', 'T', 'M', 'C' };
+
+    /** 列式编码的版本号 */
+    private static final int VERSION = 1;
+
+    /** 渲染成与 Markdown 转换一致的文本（工作表之间空一行）。*/
+    public @NotNull String
+    toMarkdown()
+    {
+        StringBuilder markdown = new StringBuilder();
+
+        for (TableSheet sheet : this.sheets)
+        {
+            if (!markdown.isEmpty()) {
+                markdown.append("\n\n");
+            }
+
+            sheet.appendMarkdown(markdown);
+        }
+
+        return markdown.toString();
+    }
+
+    /**
+     * 从缓冲区（通常是映射输出文件得到的 MappedByteBuffer）解码列式转换结果，
+     * 解码完成后结果不再引用缓冲区。
+     *
+     * @throws IllegalArgumentException 编码格式不正确时抛出
+     */
+    public static @NotNull TableDocument
+    decode(@NotNull ByteBuffer source)
+    {
+        final ByteBuffer buffer
+            = source.slice().order(ByteOrder.LITTLE_ENDIAN);
+
+        try
+        {
+            final byte[] magic = new byte[MAGIC.length];
+            buffer.get(magic);
+
+            if (!Arrays.equals(magic, MAGIC))
+            {
+                throw new
+                IllegalArgumentException("Not a columnar table document (bad magic)!");
+            }
+
+            final int version = Short.toUnsignedInt(buffer.getShort());
+
+            if (version != VERSION)
+            {
+                throw new
+                IllegalArgumentException(
+                    String.format("Unsupported columnar table document version: %d", version)
+                );
+            }
+
+            final int sheetCount = readCount(buffer);
+
+            List<TableSheet> sheets = new ArrayList<>();
+
+            for (int index = 0; index < sheetCount; ++index) {
+                sheets.add(decodeSheet(buffer));
+            }
+
+            return new TableDocument(List.copyOf(sheets));
+        }
+        catch (BufferUnderflowException | IndexOutOfBoundsException truncated)
+        {
+            throw new
+            IllegalArgumentException("Columnar table document is truncated!", truncated);
+        }
+    }
+
+    private static @NotNull TableSheet
+    decodeSheet(@NotNull ByteBuffer buffer)
+    {
+        final String name        = readString(buffer);
+        final int    rowCount    = readCount(buffer);
+        final int    columnCount = readCount(buffer);
+
+        List<TableColumn> columns = new ArrayList<>();
+
+        for (int index = 0; index < columnCount; ++index) {
+            columns.add(decodeColumn(buffer, rowCount));
+        }
+
+        return new TableSheet(name, rowCount, List.copyOf(columns));
+    }
+
+    private static @NotNull TableColumn
+    decodeColumn(@NotNull ByteBuffer buffer, int rowCount)
+    {
+        final String           name = readString(buffer);
+        final TableColumn.Type type = TableColumn.Type.fromCode(Byte.toUnsignedInt(buffer.get()));
+
+        final byte[] mask = new byte[(int) ((rowCount + 7L) / 8L)];
+        buffer.get(mask);
+
+        final BitSet nulls = BitSet.valueOf(mask);
+
+        // 分配值数组之前先确认剩余数据足够，避免损坏的行数导致超大分配
+        final long valueBytes
+            = switch (type)
+            {
+                case INT64, DOUBLE -> (long) rowCount * Long.BYTES;
+                case BOOLEAN       -> rowCount;
+                case STRING        -> (rowCount + 1L) * Integer.BYTES;
+            };
+
+        if (valueBytes > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        switch (type)
+        {
+            case INT64 ->
+            {
+                long[] longs = new long[rowCount];
+                buffer.asLongBuffer().get(longs);
+                buffer.position(buffer.position() + rowCount * Long.BYTES);
+
+                return new TableColumn(name, type, rowCount, nulls, longs, null, null, null);
+            }
+            case DOUBLE ->
+            {
+                double[] doubles = new double[rowCount];
+                buffer.asDoubleBuffer().get(doubles);
+                buffer.position(buffer.position() + rowCount * Double.BYTES);
+
+                return new TableColumn(name, type, rowCount, nulls, null, doubles, null, null);
+            }
+            case BOOLEAN ->
+            {
+                boolean[] booleans = new boolean[rowCount];
+
+                for (int row = 0; row < rowCount; ++row) {
+                    booleans[row] = buffer.get() != 0;
+                }
+
+                return new TableColumn(name, type, rowCount, nulls, null, null, booleans, null);
+            }
+            default ->
+            {
+                final int[] offsets = new int[rowCount + 1];
+                buffer.asIntBuffer().get(offsets);
+                buffer.position(buffer.position() + offsets.length * Integer.BYTES);
+
+                final int dataStart = buffer.position();
+
+                String[] strings = new String[rowCount];
+
+                for (int row = 0; row < rowCount; ++row)
+                {
+                    if (!nulls.get(row)) {
+                        strings[row] = decodeUtf8(buffer, dataStart + offsets[row], offsets[row + 1] - offsets[row]);
+                    }
+                }
+
+                buffer.position(dataStart + offsets[rowCount]);
+
+                return new TableColumn(name, type, rowCount, nulls, null, null, null, strings);
+            }
+        }
+    }
+
+    /** 读取一个 u32 计数（超出 int 范围视为格式错误）。*/
+    private static int
+    readCount(@NotNull ByteBuffer buffer)
+    {
+        final int count = buffer.getInt();
+
+        if (count < 0)
+        {
+            throw new
+            IllegalArgumentException(
+                String.format("Invalid count %d in columnar table document!", Integer.toUnsignedLong(count))
+            );
+        }
+
+        return count;
+    }
+
+    /** 读取一个 u32 长度前缀的 UTF-8 字符串。*/
+    private static @NotNull String
+    readString(@NotNull ByteBuffer buffer)
+    {
+        final int length = readCount(buffer);
+        final String text = decodeUtf8(buffer, buffer.position(), length);
+
+        buffer.position(buffer.position() + length);
+
+        return text;
+    }
+
+    /** 从绝对位置解码 UTF-8 字符串（不移动缓冲区位置）。*/
+    private static @NotNull String
+    decodeUtf8(@NotNull ByteBuffer buffer, int offset, int length)
+    {
+        if (length < 0 || offset < 0 || offset + length > buffer.limit()) {
+            throw new IndexOutOfBoundsException("String out of columnar table document bounds!");
+        }
+
+        final byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
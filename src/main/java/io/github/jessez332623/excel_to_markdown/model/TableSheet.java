@@ -0,0 +1,62 @@
+package io.github.jessez332623.excel_to_markdown.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * 列式转换结果中的一个工作表。
+ *
+ * @param name     工作表名称（CSV 没有工作表，为空串）
+ * @param rowCount 数据行数（不含表头）
+ * @param columns  各列（列名即表头）
+ */
+public record TableSheet(String name, int rowCount, List<TableColumn> columns)
+{
+    /** 渲染成 Markdown：二级标题（名称为空时省略）加上 Markdown 表格。*/
+    public @NotNull String
+    toMarkdown()
+    {
+        StringBuilder markdown = new StringBuilder();
+        this.appendMarkdown(markdown);
+
+        return markdown.toString();
+    }
+
+    /** 把本工作表的 Markdown 追加到 markdown 末尾。*/
+    void appendMarkdown(@NotNull StringBuilder markdown)
+    {
+        if (!this.name.isEmpty())
+        {
+            markdown.append("## ").append(this.name);
+
+            if (this.columns.isEmpty()) {
+                return;
+            }
+
+            markdown.append('\n');
+        }
+
+        if (this.columns.isEmpty()) {
+            return;
+        }
+
+        markdown.append('|');
+        for (TableColumn column : this.columns) {
+            markdown.append(' ').append(TableColumn.escapeCell(column.getName())).append(" |");
+        }
+
+        markdown.append("\n|");
+        for (int index = 0; index < this.columns.size(); ++index) {
+            markdown.append(" --- |");
+        }
+
+        for (int row = 0; row < this.rowCount; ++row)
+        {
+            markdown.append("\n|");
+            for (TableColumn column : this.columns) {
+                markdown.append(' ').append(column.formatCell(row)).append(" |");
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.jessez332623.excel_to_markdown.model;
+
+/**
+ * 服务池中单个服务在某一时刻的运行状况（供 Actuator 端点等运维场景查看）。
+ *
+ * @param pid               服务进程的 PID（进程不存在时为 -1）
+ * @param state             服务当前的状态
+ * @param served            服务成功完成的转换次数
+ * @param lastLatencyMillis 最近一次转换的耗时（毫秒，尚未转换过时为 -1）
+ * @param rssBytes          服务进程的常驻内存（字节，无法读取时为 -1）
+ */
+public record WorkerSnapshot(
+    long  pid,
+    State state,
+    long  served,
+    long  lastLatencyMillis,
+    long  rssBytes
+)
+{
+    /** 服务状态 */
+    public enum State
+    {
+        /** 空闲，在队列中等待任务 */
+        IDLE,
+
+        /** 正在处理任务 */
+        BUSY,
+
+        /** 进程已退出（下次归还时重启）*/
+        DEAD
+    }
+}
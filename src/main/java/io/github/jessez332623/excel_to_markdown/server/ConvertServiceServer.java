@@ -0,0 +1,463 @@
+package io.github.jessez332623.excel_to_markdown.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.github.jessez332623.excel_to_markdown.exception.exports.ScriptWorkerException;
+import io.github.jessez332623.excel_to_markdown.exception.exports.ScriptWorkerUnavailableException;
+import io.github.jessez332623.excel_to_markdown.impl.DefaultConvertServicePoolManager;
+import io.github.jessez332623.excel_to_markdown.impl.RemoteConvertServicePoolManager;
+import io.github.jessez332623.excel_to_markdown.model.ConvertOptions;
+import io.github.jessez332623.excel_to_markdown.utils.FileExtensionChecker;
+import io.github.jessez332623.excel_to_markdown.utils.RemoteProtocol;
+import io.github.jessez332623.excel_to_markdown.utils.TableContentValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.json.JsonParserFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 独立运行的远程转换节点，
+ * 通过 HTTP 对外提供 {@link DefaultConvertServicePoolManager} 的转换能力，
+ * 供 {@link io.github.jessez332623.excel_to_markdown.impl.RemoteConvertServicePoolManager} 分发请求。
+ *
+ * <pre>
+ * java -cp ... io.github.jessez332623.excel_to_markdown.server.ConvertServiceServer \
+ *      --host=0.0.0.0 --port=9090 --processes=8
+ * </pre>
+ *
+ * 带上 --smoke-test 时不对外提供服务，而是在本机走一遍完整的转换链路后退出（退出码 0 表示通过），
+ * 用于验证原生镜像中脚本资源、Python 服务与 HTTP 收发都能正常工作。
+ */
+@Slf4j
+public final class ConvertServiceServer implements Closeable
+{
+    /** 默认监听的端口 */
+    private static final int DEFAULT_PORT = 9090;
+
+    /** 默认的服务进程数量 */
+    private static final int DEFAULT_PROCESSES = 4;
+
+    /** 停止服务器时，最多等待多少秒处理完手头的请求？*/
+    private static final int STOP_DELAY_SECONDS = 5;
+
+    /** 表格本身无法转换（预检未通过、Python 服务转换出错）时的状态码，换节点重试也没用 */
+    private static final int UNPROCESSABLE_CONTENT = 422;
+
+    /** 节点背后的转换服务池 */
+    private final DefaultConvertServicePoolManager poolManager;
+
+    private final HttpServer httpServer;
+
+    /** 处理请求的线程池 */
+    private final ExecutorService requestExecutor;
+
+    /** 保护正在处理的请求数与关闭标志 */
+    private final ReentrantLock exchangeLock = new ReentrantLock();
+
+    /** 最后一个正在处理的请求结束时发出信号 */
+    private final Condition exchangesDone = this.exchangeLock.newCondition();
+
+    /** 正在处理的请求数 */
+    private int inFlightExchanges = 0;
+
+    /** 是否正在关闭（关闭开始后新到的请求直接返回 503）*/
+    private boolean closing = false;
+
+    /**
+     * @param poolManager    已经初始化的转换服务池
+     * @param address        监听的地址（端口为 0 时随机选择空闲端口）
+     * @param requestThreads 处理请求的线程数
+     */
+    public ConvertServiceServer(
+        @NotNull DefaultConvertServicePoolManager poolManager,
+        @NotNull InetSocketAddress                address,
+        int                                       requestThreads
+    ) throws IOException
+    {
+        this.poolManager     = poolManager;
+        this.requestExecutor = Executors.newFixedThreadPool(Math.max(requestThreads, 1));
+
+        this.httpServer = HttpServer.create(address, 0);
+        this.httpServer.setExecutor(this.requestExecutor);
+        this.httpServer.createContext("/" + RemoteProtocol.CONVERT_PATH, this.tracked(this::handleConvert));
+        this.httpServer.createContext("/" + RemoteProtocol.HEALTH_PATH, this.tracked(this::handleHealth));
+    }
+
+    /** 开始接受请求。*/
+    public void start()
+    {
+        this.httpServer.start();
+
+        log.info("Converter node listening on {}", this.httpServer.getAddress());
+    }
+
+    /** 实际监听的端口。*/
+    public int getPort() {
+        return this.httpServer.getAddress().getPort();
+    }
+
+    /**
+     * 停止接受请求（不会销毁背后的转换服务池）。<br/>
+     * 先拒绝新的请求，最多等待 {@value #STOP_DELAY_SECONDS} 秒让手头的请求处理完，再立即停止服务器
+     *（HttpServer.stop() 自带的等待在部分 JDK 版本上即便没有请求也会等满整个时长）。
+     */
+    @Override
+    public void close()
+    {
+        this.awaitInFlightExchanges();
+
+        this.httpServer.stop(0);
+        this.requestExecutor.shutdown();
+
+        try
+        {
+            if (!this.requestExecutor.awaitTermination(STOP_DELAY_SECONDS, TimeUnit.SECONDS)) {
+                this.requestExecutor.shutdownNow();
+            }
+        }
+        catch (InterruptedException exception)
+        {
+            this.requestExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** 标记关闭开始，等待正在处理的请求结束（超时则放弃等待）。*/
+    private void awaitInFlightExchanges()
+    {
+        this.exchangeLock.lock();
+
+        try
+        {
+            this.closing = true;
+
+            long remainingNanos = TimeUnit.SECONDS.toNanos(STOP_DELAY_SECONDS);
+
+            while (this.inFlightExchanges > 0 && remainingNanos > 0L) {
+                remainingNanos = this.exchangesDone.awaitNanos(remainingNanos);
+            }
+
+            if (this.inFlightExchanges > 0) {
+                log.warn("{} request(s) still in flight, stop converter node anyway.", this.inFlightExchanges);
+            }
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            this.exchangeLock.unlock();
+        }
+    }
+
+    /** 包装请求处理器：统计正在处理的请求数，关闭开始后直接返回 503（调用方会换节点重试）。*/
+    private @NotNull HttpHandler
+    tracked(@NotNull HttpHandler handler)
+    {
+        return (exchange) -> {
+            this.exchangeLock.lock();
+
+            final boolean accepted = !this.closing;
+
+            if (accepted) {
+                ++this.inFlightExchanges;
+            }
+
+            this.exchangeLock.unlock();
+
+            if (!accepted)
+            {
+                try (exchange) {
+                    sendText(exchange, 503, "Converter node is shutting down.");
+                }
+
+                return;
+            }
+
+            try {
+                handler.handle(exchange);
+            }
+            finally
+            {
+                this.exchangeLock.lock();
+
+                try
+                {
+                    if (--this.inFlightExchanges == 0) {
+                        this.exchangesDone.signalAll();
+                    }
+                }
+                finally {
+                    this.exchangeLock.unlock();
+                }
+            }
+        };
+    }
+
+    /** 健康检查：池中仍有存活服务时返回 200，否则返回 503。*/
+    private void
+    handleHealth(@NotNull HttpExchange exchange) throws IOException
+    {
+        try (exchange)
+        {
+            final int aliveWorkers = this.poolManager.getAliveWorkerCount();
+
+            sendText(
+                exchange, (aliveWorkers > 0) ? 200 : 503,
+                String.format("alive workers: %d", aliveWorkers)
+            );
+        }
+    }
+
+    /** 执行转换：请求体落地成临时文件后交给服务池转换。*/
+    private void
+    handleConvert(@NotNull HttpExchange exchange) throws IOException
+    {
+        try (exchange)
+        {
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod()))
+            {
+                sendText(exchange, 405, "Only POST is allowed.");
+                return;
+            }
+
+            final String encodedFileName
+                = exchange.getRequestHeaders().getFirst(RemoteProtocol.FILE_NAME_HEADER);
+
+            final String fileName
+                = Objects.isNull(encodedFileName)
+                    ? null
+                    : URLDecoder.decode(encodedFileName, StandardCharsets.UTF_8);
+
+            Path temp = null;
+
+            try
+            {
+                FileExtensionChecker.check(fileName);
+
+                temp = Files.createTempFile(
+                    "remote_table",
+                    FileExtensionChecker.extractFileExtension(fileName)
+                );
+
+                try (InputStream body = exchange.getRequestBody()) {
+                    Files.copy(body, temp, StandardCopyOption.REPLACE_EXISTING);
+                }
+
+                final String markdown
+                    = this.poolManager.convertTableToMarkdown(temp, this.readOptions(exchange));
+
+                if (Objects.isNull(markdown))
+                {
+                    sendText(exchange, 503, "Converter node is shutting down.");
+                    return;
+                }
+
+                sendText(exchange, 200, markdown);
+            }
+            catch (IllegalArgumentException badRequest) {
+                sendText(exchange, 400, badRequest.getMessage());
+            }
+            catch (ScriptWorkerUnavailableException unavailable) {
+                // 服务繁忙、服务启动失败、通信失败，返回 503 让调用方换节点重试
+                sendText(exchange, 503, unavailable.getMessage());
+            }
+            catch (ScriptWorkerException unprocessable) {
+                // 表格本身的问题（预检未通过、Python 服务转换出错），换到哪个节点结果都一样
+                sendText(exchange, UNPROCESSABLE_CONTENT, unprocessable.getMessage());
+            }
+            finally
+            {
+                if (Objects.nonNull(temp)) {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        }
+    }
+
+    /** 读取转换选项请求头（没有时返回 null）。*/
+    private ConvertOptions
+    readOptions(@NotNull HttpExchange exchange)
+    {
+        final String optionsHeader
+            = exchange.getRequestHeaders().getFirst(RemoteProtocol.OPTIONS_HEADER);
+
+        if (!FileExtensionChecker.isNotEmptyString(optionsHeader)) {
+            return null;
+        }
+
+        return
+        ConvertOptions.fromRequestOptions(
+            JsonParserFactory.getJsonParser().parseMap(optionsHeader)
+        );
+    }
+
+    /** 以 UTF-8 文本作为响应体返回。*/
+    private static void
+    sendText(@NotNull HttpExchange exchange, int status, String text) throws IOException
+    {
+        final byte[] body
+            = Objects.requireNonNullElse(text, "").getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", RemoteProtocol.MARKDOWN_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, (body.length == 0) ? -1 : body.length);
+
+        if (body.length > 0)
+        {
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        }
+    }
+
+    /** 解析形如 --key=value 的命令行参数。*/
+    private static @NotNull Map<String, String>
+    parseArguments(@NotNull String[] args)
+    {
+        final Map<String, String> arguments = new HashMap<>();
+
+        for (String arg : args)
+        {
+            if (!arg.startsWith("--")) {
+                continue;
+            }
+
+            final int equalIndex = arg.indexOf('=');
+
+            if (equalIndex == -1) {
+                arguments.put(arg.substring(2), "true");
+            }
+            else {
+                arguments.put(arg.substring(2, equalIndex), arg.substring(equalIndex + 1));
+            }
+        }
+
+        return arguments;
+    }
+
+    /**
+     * 冒烟测试：启动单个服务的服务池与监听随机端口的节点，
+     * 通过远程服务池管理器经由 HTTP 转换一张 CSV 表格，并检查转换结果与健康状态。
+     *
+     * @return 是否通过
+     */
+    private static boolean
+    smokeTest()
+    {
+        final String expected = "smoke-test-cell";
+
+        DefaultConvertServicePoolManager poolManager
+            = new DefaultConvertServicePoolManager(1, 5);
+
+        RemoteConvertServicePoolManager client = null;
+
+        try
+        {
+            poolManager.init();
+
+            try (ConvertServiceServer server
+                     = new ConvertServiceServer(
+                         poolManager, new InetSocketAddress("127.0.0.1", 0), 2))
+            {
+                server.start();
+
+                client = new RemoteConvertServicePoolManager(
+                    List.of(URI.create(String.format("http://127.0.0.1:%d/", server.getPort()))),
+                    Duration.ofSeconds(30L), Duration.ofSeconds(30L)
+                );
+                client.init();
+
+                final String markdown
+                    = client.convertTableToMarkdown(
+                        String.format("name,value%n%s,1%n", expected).getBytes(StandardCharsets.UTF_8),
+                        "smoke-test.csv"
+                    );
+
+                final boolean passed
+                    = Objects.nonNull(markdown) &&
+                      markdown.contains(expected) &&
+                      poolManager.getAliveWorkerCount() == 1;
+
+                log.info("Smoke test {}, markdown:\n{}", passed ? "passed" : "failed", markdown);
+
+                return passed;
+            }
+        }
+        catch (IOException | RuntimeException exception)
+        {
+            log.error("Smoke test failed!", exception);
+            return false;
+        }
+        finally
+        {
+            if (Objects.nonNull(client)) {
+                client.destroy();
+            }
+
+            poolManager.destroy();
+        }
+    }
+
+    /** 以独立进程的方式启动一个转换节点。*/
+    public static void
+    main(String[] args) throws IOException
+    {
+        final Map<String, String> arguments = parseArguments(args);
+
+        if (arguments.containsKey("smoke-test"))
+        {
+            // 结果只通过退出码与日志报告
+            System.exit(smokeTest() ? 0 : 1);
+        }
+
+        final String host
+            = arguments.getOrDefault("host", "0.0.0.0");
+        final int port
+            = Integer.parseInt(arguments.getOrDefault("port", String.valueOf(DEFAULT_PORT)));
+        final int processes
+            = Integer.parseInt(arguments.getOrDefault("processes", String.valueOf(DEFAULT_PROCESSES)));
+
+        DefaultConvertServicePoolManager poolManager
+            = new DefaultConvertServicePoolManager(processes, 15);
+
+        poolManager.setTableContentValidator(
+            new TableContentValidator(TableContentValidator.Limits.defaults())
+        );
+        poolManager.init();
+
+        ConvertServiceServer server
+            = new ConvertServiceServer(poolManager, new InetSocketAddress(host, port), processes * 2);
+
+        // JVM 退出时先停止接受请求，再销毁服务池
+        Runtime.getRuntime()
+               .addShutdownHook(
+                   new Thread(() -> {
+                       server.close();
+                       poolManager.destroy();
+                   })
+               );
+
+        server.start();
+    }
+}
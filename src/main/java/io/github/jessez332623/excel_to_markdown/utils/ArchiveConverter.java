@@ -0,0 +1,449 @@
+package io.github.jessez332623.excel_to_markdown.utils;
+
+import io.github.jessez332623.excel_to_markdown.ConvertServicePoolManager;
+import io.github.jessez332623.excel_to_markdown.exception.InvalidTableContent;
+import io.github.jessez332623.excel_to_markdown.exception.NotSupportFileExtension;
+import io.github.jessez332623.excel_to_markdown.exception.exports.ScriptWorkerException;
+import io.github.jessez332623.excel_to_markdown.model.ArchiveEntryResult;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+/**
+ * 压缩包转换器：逐个读出 ZIP 中扩展名受支持的表格条目，
+ * 以字节数组的形式并发交给服务池转换，按条目在压缩包中的顺序返回结果。<br/>
+ * 压缩包本身不会整体解压，但 Python 服务只能从文件读取表格，每个条目在转换期间仍会落地成临时文件
+ * （本地服务池默认写在系统临时目录，启用共享内存交接时写在 tmpfs 上）。<br/>
+ * 同时在途的条目数量不超过并发度，内存中最多只有并发度个条目的内容；
+ * 条目数量、单个条目大小、解压后总大小与压缩比沿用 {@link TableContentValidator.Limits}，
+ * 超出任何一项时中止整个压缩包的转换（ZIP 炸弹防护）。
+ */
+@Slf4j
+public final class ArchiveConverter
+{
+    /** 压缩后小于该字节数的条目不检查压缩比（与 TableContentValidator 一致）*/
+    private static final long RATIO_CHECK_MIN_COMPRESSED = 1024L;
+
+    /** 转换线程的编号 */
+    private static final AtomicInteger THREAD_INDEX = new AtomicInteger(0);
+
+    private final ConvertServicePoolManager poolManager;
+
+    private final int parallelism;
+
+    private final TableContentValidator.Limits limits;
+
+    /**
+     * @param poolManager 执行转换的服务池
+     * @param parallelism 同时转换的条目数量（通常取服务池大小）
+     * @param limits      压缩包的限制
+     */
+    public ArchiveConverter(
+        @NotNull ConvertServicePoolManager   poolManager,
+        int                                  parallelism,
+        @NotNull TableContentValidator.Limits limits
+    )
+    {
+        this.poolManager = poolManager;
+        this.parallelism = Math.max(parallelism, 1);
+        this.limits      = limits;
+    }
+
+    /** 转换压缩包文件（先通过中央目录检查条目数量与声明的大小，再逐个读取条目）。*/
+    public @NotNull List<ArchiveEntryResult>
+    convert(@NotNull Path archivePath) throws ScriptWorkerException
+    {
+        try (ZipFile zipFile = new ZipFile(archivePath.toFile()))
+        {
+            if (zipFile.size() > this.limits.maxZipEntries())
+            {
+                throw new
+                InvalidTableContent(
+                    String.format(
+                        "Archive %s has too many entries (%d, limit %d)!",
+                        archivePath.getFileName(), zipFile.size(), this.limits.maxZipEntries()
+                    )
+                );
+            }
+
+            // 中央目录声明的大小不可信，这里只是提前拒绝，读取时仍按实际字节数检查
+            long declaredSize = 0L;
+
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+
+            while (entries.hasMoreElements())
+            {
+                final ZipEntry entry = entries.nextElement();
+
+                if (isTableEntry(entry))
+                {
+                    this.checkEntrySize(entry, Math.max(entry.getSize(), 0L));
+                    declaredSize += Math.max(entry.getSize(), 0L);
+                }
+            }
+
+            this.checkExpandedSize(declaredSize);
+
+            return
+            this.fanOut(new EntrySource()
+            {
+                final Enumeration<? extends ZipEntry> remaining = zipFile.entries();
+
+                @Override
+                public ZipEntry
+                next() {
+                    return this.remaining.hasMoreElements() ? this.remaining.nextElement() : null;
+                }
+
+                @Override
+                public InputStream
+                open(@NotNull ZipEntry entry) throws IOException {
+                    return zipFile.getInputStream(entry);
+                }
+
+                @Override
+                public long
+                skip(@NotNull ZipEntry entry, long maxBytes) {
+                    return 0L;  // ZipFile 随机访问，跳过的条目不需要解压
+                }
+            });
+        }
+        catch (IOException exception) {
+            throw archiveFailed(exception);
+        }
+        catch (InvalidTableContent invalidArchive)
+        {
+            throw new
+            ScriptWorkerException(invalidArchive.getMessage(), invalidArchive);
+        }
+    }
+
+    /** 转换压缩包输入流（边读边转换，不会关闭该流）。*/
+    public @NotNull List<ArchiveEntryResult>
+    convert(@NotNull InputStream archiveStream) throws ScriptWorkerException
+    {
+        // 不关闭 ZipInputStream，否则会连带关闭调用者的流
+        final ZipInputStream zipStream = new ZipInputStream(archiveStream);
+
+        try
+        {
+            return
+            this.fanOut(new EntrySource()
+            {
+                @Override
+                public ZipEntry
+                next() throws IOException {
+                    return zipStream.getNextEntry();
+                }
+
+                @Override
+                public InputStream
+                open(@NotNull ZipEntry entry) {
+                    return zipStream;
+                }
+
+                @Override
+                public long
+                skip(@NotNull ZipEntry entry, long maxBytes) throws IOException
+                {
+                    // 流式读取时跳过条目同样要解压，解压出的字节数也计入总大小
+                    long skipped = 0L;
+                    long count;
+
+                    while (skipped <= maxBytes && (count = zipStream.skip(8192L)) > 0L) {
+                        skipped += count;
+                    }
+
+                    return skipped;
+                }
+            });
+        }
+        catch (IOException exception) {
+            throw archiveFailed(exception);
+        }
+        catch (InvalidTableContent invalidArchive)
+        {
+            throw new
+            ScriptWorkerException(invalidArchive.getMessage(), invalidArchive);
+        }
+    }
+
+    /** 压缩包条目的来源（ZipFile 或 ZipInputStream）。*/
+    private interface EntrySource
+    {
+        /** 下一个条目（没有更多条目时返回 null）。*/
+        ZipEntry next() throws IOException;
+
+        /** 读取条目内容的输入流（调用者不得关闭）。*/
+        InputStream open(@NotNull ZipEntry entry) throws IOException;
+
+        /** 跳过不需要转换的条目，返回跳过时解压出的字节数（超过 maxBytes 后不再继续）。*/
+        long skip(@NotNull ZipEntry entry, long maxBytes) throws IOException;
+    }
+
+    /**
+     * 按顺序读取条目，每读出一个表格条目就提交给转换线程，
+     * 读取下一个条目之前先取得许可，保证同时在途的条目不超过并发度。
+     */
+    private @NotNull List<ArchiveEntryResult>
+    fanOut(@NotNull EntrySource source) throws IOException
+    {
+        final Semaphore inFlight = new Semaphore(this.parallelism);
+
+        final ExecutorService converter
+            = Executors.newFixedThreadPool(this.parallelism, (runnable) -> {
+                Thread thread = new Thread(runnable, "archive-converter-" + THREAD_INDEX.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        final List<Future<ArchiveEntryResult>> pending = new ArrayList<>();
+
+        boolean completed = false;
+
+        try
+        {
+            int  entryCount   = 0;
+            long expandedSize = 0L;
+
+            ZipEntry entry;
+
+            while ((entry = source.next()) != null)
+            {
+                if (++entryCount > this.limits.maxZipEntries())
+                {
+                    throw new
+                    InvalidTableContent(
+                        String.format("Archive has too many entries (limit %d)!", this.limits.maxZipEntries())
+                    );
+                }
+
+                if (!isTableEntry(entry))
+                {
+                    expandedSize
+                        += source.skip(entry, this.limits.maxExpandedSizeBytes() - expandedSize);
+                    this.checkExpandedSize(expandedSize);
+
+                    continue;
+                }
+
+                inFlight.acquire();
+
+                final byte[] tableBytes;
+
+                try
+                {
+                    tableBytes = this.readEntry(source.open(entry), entry);
+                }
+                catch (IOException | RuntimeException exception)
+                {
+                    inFlight.release();
+                    throw exception;
+                }
+
+                expandedSize += tableBytes.length;
+                this.checkExpandedSize(expandedSize);
+
+                final String entryName = entry.getName();
+
+                pending.add(
+                    converter.submit(() -> {
+                        try {
+                            return this.convertEntry(entryName, tableBytes);
+                        }
+                        finally {
+                            inFlight.release();
+                        }
+                    })
+                );
+            }
+
+            List<ArchiveEntryResult> results = new ArrayList<>(pending.size());
+
+            for (Future<ArchiveEntryResult> future : pending) {
+                results.add(future.get());
+            }
+
+            completed = true;
+
+            return List.copyOf(results);
+        }
+        catch (InterruptedException interrupted)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new
+            ScriptWorkerException("Archive conversion interrupted!", interrupted);
+        }
+        catch (ExecutionException exception)
+        {
+            // convertEntry 自行捕获了所有异常，走到这里说明出现了 Error
+            throw new
+            ScriptWorkerException(
+                String.format("Archive conversion failed! Caused by: %s", exception.getCause()),
+                exception.getCause()
+            );
+        }
+        finally
+        {
+            // 中止时取消尚未开始的条目，已经交给服务的条目照常完成，不打断 Python 服务
+            if (!completed) {
+                pending.forEach((future) -> future.cancel(false));
+            }
+
+            converter.shutdown();
+        }
+    }
+
+    /** 转换单个条目，失败原因记录在结果中。*/
+    private @NotNull ArchiveEntryResult
+    convertEntry(@NotNull String entryName, byte[] tableBytes)
+    {
+        try
+        {
+            final String markdown
+                = this.poolManager.convertTableToMarkdown(tableBytes, fileNameOf(entryName));
+
+            if (Objects.isNull(markdown))
+            {
+                return new
+                ArchiveEntryResult(
+                    entryName, null,
+                    new ScriptWorkerException("Service pool is shutting down, entry not converted!")
+                );
+            }
+
+            return new ArchiveEntryResult(entryName, markdown, null);
+        }
+        catch (ScriptWorkerException exception)
+        {
+            log.warn("Convert archive entry {} failed! Caused by: {}", entryName, exception.getMessage());
+            return new ArchiveEntryResult(entryName, null, exception);
+        }
+        catch (RuntimeException exception)
+        {
+            log.warn("Convert archive entry {} failed!", entryName, exception);
+
+            return new
+            ArchiveEntryResult(
+                entryName, null,
+                new ScriptWorkerException(
+                    String.format("Convert archive entry %s failed! Caused by: %s", entryName, exception.getMessage()),
+                    exception
+                )
+            );
+        }
+    }
+
+    /** 读出条目内容，实际解压出的字节数超出单个表格的大小上限时中止。*/
+    private byte[]
+    readEntry(@NotNull InputStream entryStream, @NotNull ZipEntry entry) throws IOException
+    {
+        final long maxBytes = Math.min(this.limits.maxFileSizeBytes(), Integer.MAX_VALUE - 8L);
+
+        final byte[] tableBytes = entryStream.readNBytes((int) maxBytes + 1);
+
+        this.checkEntrySize(entry, tableBytes.length);
+
+        return tableBytes;
+    }
+
+    /** 检查单个条目解压后的大小与压缩比。*/
+    private void
+    checkEntrySize(@NotNull ZipEntry entry, long size)
+    {
+        if (size > this.limits.maxFileSizeBytes())
+        {
+            throw new
+            InvalidTableContent(
+                String.format(
+                    "Archive entry %s is too large (limit %d bytes)!",
+                    entry.getName(), this.limits.maxFileSizeBytes()
+                )
+            );
+        }
+
+        final long compressedSize = entry.getCompressedSize();
+
+        if (compressedSize >= RATIO_CHECK_MIN_COMPRESSED &&
+            size / compressedSize > this.limits.maxCompressionRatio())
+        {
+            throw new
+            InvalidTableContent(
+                String.format(
+                    "Archive entry %s has a suspicious compression ratio (%d:1)!",
+                    entry.getName(), size / compressedSize
+                )
+            );
+        }
+    }
+
+    /** 检查解压后的总大小。*/
+    private void
+    checkExpandedSize(long expandedSize)
+    {
+        if (expandedSize > this.limits.maxExpandedSizeBytes())
+        {
+            throw new
+            InvalidTableContent(
+                String.format("Archive expands beyond %d bytes!", this.limits.maxExpandedSizeBytes())
+            );
+        }
+    }
+
+    /** 条目是否为需要转换的表格？（跳过目录、macOS 的资源分支与不支持的扩展名）*/
+    private static boolean
+    isTableEntry(@NotNull ZipEntry entry)
+    {
+        if (entry.isDirectory() || entry.getName().startsWith("__MACOSX/")) {
+            return false;
+        }
+
+        try
+        {
+            FileExtensionChecker.check(fileNameOf(entry.getName()));
+            return true;
+        }
+        catch (NotSupportFileExtension notSupport) {
+            return false;
+        }
+    }
+
+    /** 条目路径的最后一段（即文件名）。*/
+    private static @NotNull String
+    fileNameOf(@NotNull String entryName) {
+        return entryName.substring(entryName.lastIndexOf('/') + 1);
+    }
+
+    private static @NotNull ScriptWorkerException
+    archiveFailed(@NotNull IOException exception)
+    {
+        return new
+        ScriptWorkerException(
+            String.format(
+                exception instanceof ZipException
+                    ? "Archive is truncated or corrupt! Caused by: %s"
+                    : "Read archive failed! Caused by: %s",
+                exception.getMessage()
+            ),
+            exception
+        );
+    }
+}
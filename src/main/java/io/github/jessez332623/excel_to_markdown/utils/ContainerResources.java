@@ -0,0 +1,284 @@
+package io.github.jessez332623.excel_to_markdown.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalLong;
+
+/**
+ * 容器资源探测器，
+ * 从 cgroup v2 的 cpu.max、memory.max、cpuset.cpus.effective 读取容器的 CPU 配额、内存上限与可用 CPU 集合，
+ * 不在容器中（或读取失败）时退回 JVM 观察到的处理器数量。
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ContainerResources
+{
+    /** cgroup v2 统一层级的挂载点 */
+    private static final Path CGROUP_ROOT = Path.of("/sys/fs/cgroup");
+
+    /** 宿主机上线的 CPU 列表 */
+    private static final Path ONLINE_CPUS = Path.of("/sys/devices/system/cpu/online");
+
+    /** taskset 命令可能所在的位置 */
+    private static final List<Path> TASKSET_LOCATIONS
+        = List.of(Path.of("/usr/bin/taskset"), Path.of("/bin/taskset"));
+
+    /** 容器可用的 CPU 数量（cpu.max 配额 / 周期，可能是小数）。*/
+    public static double
+    availableCpus()
+    {
+        final int processors
+            = Runtime.getRuntime().availableProcessors();
+
+        final String cpuMax = readCgroupFile("cpu.max");
+
+        if (cpuMax == null) {
+            return processors;
+        }
+
+        return parseCpuMax(cpuMax, processors);
+    }
+
+    /**
+     * 解析 cpu.max 的内容。
+     *
+     * @param cpuMax     形如 “$MAX $PERIOD” 的文件内容，$MAX 为 max 表示不限制
+     * @param processors JVM 观察到的处理器数量（无配额或无法解析时的返回值，也是配额的上限）
+     */
+    static double
+    parseCpuMax(@NotNull String cpuMax, int processors)
+    {
+        final String[] quotaAndPeriod = cpuMax.trim().split("\\s+");
+
+        if (quotaAndPeriod.length != 2 || "max".equals(quotaAndPeriod[0])) {
+            return processors;
+        }
+
+        try
+        {
+            final double quota  = Double.parseDouble(quotaAndPeriod[0]);
+            final double period = Double.parseDouble(quotaAndPeriod[1]);
+
+            return
+            (period > 0) ? Math.min(quota / period, processors) : processors;
+        }
+        catch (NumberFormatException exception)
+        {
+            log.debug("Cannot parse cgroup cpu.max: {}", cpuMax, exception);
+            return processors;
+        }
+    }
+
+    /** 容器的内存上限（memory.max，不限制或无法读取时为空）。*/
+    public static @NotNull OptionalLong
+    memoryLimitBytes()
+    {
+        final String memoryMax = readCgroupFile("memory.max");
+
+        if (memoryMax == null || "max".equals(memoryMax)) {
+            return OptionalLong.empty();
+        }
+
+        try {
+            return OptionalLong.of(Long.parseLong(memoryMax));
+        }
+        catch (NumberFormatException exception)
+        {
+            log.debug("Cannot parse cgroup memory.max: {}", memoryMax, exception);
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * 容器独占的 CPU 编号：cpuset.cpus.effective 比宿主机上线的 CPU 少时才返回该集合，
+     * 覆盖整个宿主机（比如未配置 CPU 管理策略的 Pod）或无法读取时返回空列表。
+     * 此时逐个绑定 CPU 只会让同一宿主机上所有容器的服务都挤在编号靠前的 CPU 上。
+     */
+    public static @NotNull List<Integer>
+    dedicatedCpus()
+    {
+        return
+        dedicatedCpus(readCgroupFile("cpuset.cpus.effective"), readFile(ONLINE_CPUS));
+    }
+
+    /**
+     * 比较容器的 CPU 集合与宿主机上线的 CPU。
+     *
+     * @param cpuSet     cpuset.cpus.effective 的内容（可能为空）
+     * @param onlineCpus /sys/devices/system/cpu/online 的内容（可能为空）
+     *
+     * @return 容器的 CPU 集合严格小于宿主机时返回该集合，否则返回空列表
+     */
+    static @NotNull List<Integer>
+    dedicatedCpus(String cpuSet, String onlineCpus)
+    {
+        if (!FileExtensionChecker.isNotEmptyString(cpuSet) ||
+            !FileExtensionChecker.isNotEmptyString(onlineCpus))
+        {
+            return List.of();
+        }
+
+        try
+        {
+            final List<Integer> allowed = parseCpuList(cpuSet);
+            final List<Integer> online  = parseCpuList(onlineCpus);
+
+            if (!allowed.isEmpty() && allowed.size() < online.size()) {
+                return allowed;
+            }
+        }
+        catch (NumberFormatException exception) {
+            log.debug("Cannot parse cpuset {} or online CPUs {}", cpuSet, onlineCpus, exception);
+        }
+
+        return List.of();
+    }
+
+    /**
+     * 根据容器的 CPU 配额与内存上限，推荐服务进程数量。
+     *
+     * @param expectedWorkerRssBytes 单个服务进程预计的常驻内存
+     * @param maxProcesses           服务进程数量上限
+     *
+     * @return min(CPU 配额向上取整, (内存上限 - JVM 最大堆) / 单进程常驻内存, 上限)，至少为 1
+     */
+    public static int
+    recommendedProcesses(long expectedWorkerRssBytes, int maxProcesses)
+    {
+        final int cpuBound
+            = (int) Math.ceil(availableCpus());
+
+        final OptionalLong memoryLimit = memoryLimitBytes();
+
+        int memoryBound = Integer.MAX_VALUE;
+
+        if (memoryLimit.isPresent() && expectedWorkerRssBytes > 0L)
+        {
+            // 给 JVM 自己的堆留出空间，剩下的才分给服务进程
+            final long memoryForWorkers
+                = memoryLimit.getAsLong() - Runtime.getRuntime().maxMemory();
+
+            memoryBound
+                = (int) Math.min(Integer.MAX_VALUE, Math.max(memoryForWorkers, 0L) / expectedWorkerRssBytes);
+        }
+
+        final int recommended
+            = Math.max(1, Math.min(Math.min(cpuBound, memoryBound), maxProcesses));
+
+        log.info(
+            "Recommend {} Python services (CPU bound: {}, memory bound: {}, max: {}).",
+            recommended, cpuBound,
+            (memoryBound == Integer.MAX_VALUE) ? "unlimited" : memoryBound,
+            maxProcesses
+        );
+
+        return recommended;
+    }
+
+    /** 当前系统能否通过 taskset 绑定 CPU（仅 Linux）？*/
+    public static boolean
+    isAffinitySupported()
+    {
+        return
+        System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("linux") &&
+        TASKSET_LOCATIONS.stream().anyMatch(Files::isExecutable);
+    }
+
+    /** 读取进程的常驻内存（/proc/[pid]/status 中的 VmRSS，仅 Linux，无法读取时返回 -1）。*/
+    public static long
+    residentSetBytes(long pid)
+    {
+        if (pid <= 0L) {
+            return -1L;
+        }
+
+        final Path status = Path.of("/proc", String.valueOf(pid), "status");
+
+        if (!Files.isReadable(status)) {
+            return -1L;
+        }
+
+        try
+        {
+            for (String line : Files.readAllLines(status))
+            {
+                // 形如 “VmRSS:     123456 kB”
+                if (line.startsWith("VmRSS:"))
+                {
+                    final String[] fields = line.substring("VmRSS:".length()).trim().split("\\s+");
+
+                    return Long.parseLong(fields[0]) * 1024L;
+                }
+            }
+        }
+        catch (IOException | SecurityException | NumberFormatException exception) {
+            log.debug("Cannot read RSS of process {}", pid, exception);
+        }
+
+        return -1L;
+    }
+
+    /** 解析形如 “0-3,6,8-9” 的 CPU 列表。*/
+    static @NotNull List<Integer>
+    parseCpuList(@NotNull String cpuList)
+    {
+        final List<Integer> cpus = new ArrayList<>();
+
+        for (String range : cpuList.trim().split(","))
+        {
+            if (range.isBlank()) {
+                continue;
+            }
+
+            final int dashIndex = range.indexOf('-');
+
+            if (dashIndex == -1) {
+                cpus.add(Integer.parseInt(range.trim()));
+            }
+            else
+            {
+                final int from = Integer.parseInt(range.substring(0, dashIndex).trim());
+                final int to   = Integer.parseInt(range.substring(dashIndex + 1).trim());
+
+                for (int cpu = from; cpu <= to; ++cpu) {
+                    cpus.add(cpu);
+                }
+            }
+        }
+
+        return cpus;
+    }
+
+    /** 读取 cgroup 文件的内容（不存在或读取失败时返回 null）。*/
+    private static String
+    readCgroupFile(String fileName) {
+        return readFile(CGROUP_ROOT.resolve(fileName));
+    }
+
+    /** 读取文件的内容（不存在或读取失败时返回 null）。*/
+    private static String
+    readFile(Path file)
+    {
+        if (!Files.isReadable(file)) {
+            return null;
+        }
+
+        try {
+            return Files.readString(file).trim();
+        }
+        catch (IOException | SecurityException exception)
+        {
+            log.debug("Cannot read file: {}", file, exception);
+            return null;
+        }
+    }
+}
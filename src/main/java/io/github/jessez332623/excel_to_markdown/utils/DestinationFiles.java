@@ -0,0 +1,73 @@
+package io.github.jessez332623.excel_to_markdown.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+
+/**
+ * 转换结果写入调用方指定的目标文件时使用的工具：
+ * 先写入目标所在目录下的临时文件，转换成功后再整体替换目标，
+ * 转换失败时删除临时文件，已存在的目标文件保持原样，不会被截断或只写入一半。
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DestinationFiles
+{
+    /** 临时文件的后缀 */
+    private static final String PART_SUFFIX = ".part";
+
+    /**
+     * 在目标所在目录下创建临时文件（与目标位于同一文件系统，替换时可以原子重命名）。
+     *
+     * @param destination 目标文件的绝对路径
+     */
+    public static @NotNull Path
+    createSibling(@NotNull Path destination) throws IOException
+    {
+        final Path directory
+            = Objects.requireNonNullElse(destination.getParent(), Path.of("."));
+
+        return
+        Files.createTempFile(directory, "." + destination.getFileName() + ".", PART_SUFFIX);
+    }
+
+    /**
+     * 用写好的临时文件替换目标文件（文件系统不支持原子移动时退回普通的覆盖移动）。
+     *
+     * @param sibling     {@link #createSibling(Path)} 创建的临时文件
+     * @param destination 目标文件
+     */
+    public static void
+    commit(@NotNull Path sibling, @NotNull Path destination) throws IOException
+    {
+        try {
+            Files.move(sibling, destination, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (AtomicMoveNotSupportedException notSupported) {
+            Files.move(sibling, destination, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** 删除未能提交的临时文件（删除失败只记录日志）。*/
+    public static void
+    discard(@Nullable Path sibling)
+    {
+        if (Objects.isNull(sibling)) {
+            return;
+        }
+
+        try { Files.deleteIfExists(sibling); }
+        catch (IOException exception) {
+            log.warn("Cannot delete temp file: {}", sibling, exception);
+        }
+    }
+}
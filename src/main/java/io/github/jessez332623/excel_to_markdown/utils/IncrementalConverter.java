@@ -0,0 +1,647 @@
+package io.github.jessez332623.excel_to_markdown.utils;
+
+import io.github.jessez332623.excel_to_markdown.ConvertServicePoolManager;
+import io.github.jessez332623.excel_to_markdown.exception.exports.ScriptWorkerException;
+import io.github.jessez332623.excel_to_markdown.model.ConvertOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 工作表级别的增量转换器：同一份工作簿反复修订上传时，只重新转换内容发生变化的工作表。<br/>
+ * 为 .xlsx / .xlsm 的每个工作表计算指纹（工作表 XML 的内容、其引用的共享字符串、样式表与工作表名称），
+ * 指纹未变的工作表直接取用之前转换出的 Markdown，其余工作表按名称筛选后交给服务池转换，
+ * 再按工作簿中的顺序拼接（工作表之间空一行，与完整转换一致）。<br/>
+ * 其他格式、结构不规范的工作簿以及无法按标题拆分的转换结果，退化为不缓存的完整转换。
+ */
+@Slf4j
+public final class IncrementalConverter
+{
+    /** 支持增量转换的扩展名（其余格式没有按工作表拆分的 XML 部件）*/
+    private static final Set<String> INCREMENTAL_EXTENSIONS = Set.of(".xlsx", ".xlsm");
+
+    /** 关系 ID 所在的命名空间（workbook.xml 中 sheet 元素的 r:id 属性）*/
+    private static final String RELATIONSHIPS_NAMESPACE
+        = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    /** 解析工作簿部件用的 StAX 工厂（禁用 DTD 与外部实体）*/
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    /** 工作表指纹 -> 该工作表的 Markdown（最近最少使用的条目先被淘汰）*/
+    private final LinkedHashMap<String, String> sheetMarkdowns
+        = new LinkedHashMap<>(64, 0.75F, true);
+
+    /** 缓存的 Markdown 字符总数上限 */
+    private final long maxCachedChars;
+
+    /** 当前缓存的 Markdown 字符总数 */
+    private long cachedChars = 0L;
+
+    /**
+     * 工作表的指纹。
+     *
+     * @param name        工作表名称
+     * @param fingerprint 指纹（十六进制的 SHA-256）
+     */
+    private record SheetFingerprint(String name, String fingerprint) {}
+
+    /** @param maxCachedChars 缓存的 Markdown 字符总数上限 */
+    public IncrementalConverter(long maxCachedChars) {
+        this.maxCachedChars = Math.max(maxCachedChars, 0L);
+    }
+
+    /**
+     * 增量转换表格：指纹未变的工作表取自缓存，只把发生变化的工作表交给服务池。
+     *
+     * @param poolManager 执行转换的服务池
+     * @param tablePath   表格文件路径
+     *
+     * @return 转换完成后的 Markdown 文本（与完整转换的结果一致，服务池关闭中时返回 null）
+     *
+     * @throws ScriptWorkerException 服务启动失败，转换失败最终抛出本异常
+     */
+    public String
+    convert(
+        @NotNull ConvertServicePoolManager poolManager,
+        @NotNull Path                      tablePath
+    ) throws ScriptWorkerException
+    {
+        final List<SheetFingerprint> fingerprints = fingerprintSheets(tablePath);
+
+        if (Objects.isNull(fingerprints) || fingerprints.isEmpty()) {
+            return poolManager.convertTableToMarkdown(tablePath);
+        }
+
+        final Map<String, String> cachedSheets = new HashMap<>();
+        final List<String>        staleSheets  = new ArrayList<>();
+
+        for (SheetFingerprint sheet : fingerprints)
+        {
+            final String markdown = this.lookup(sheet.fingerprint());
+
+            if (Objects.nonNull(markdown)) {
+                cachedSheets.put(sheet.name(), markdown);
+            }
+            else {
+                staleSheets.add(sheet.name());
+            }
+        }
+
+        log.debug(
+            "Incremental conversion of {}: {} of {} sheet(s) changed.",
+            tablePath.getFileName(), staleSheets.size(), fingerprints.size()
+        );
+
+        if (!staleSheets.isEmpty())
+        {
+            // 即便全部工作表都变了也按名称筛选，保证每个工作表的渲染方式与之后的增量转换一致
+            final String converted
+                = poolManager.convertTableToMarkdown(
+                    tablePath,
+                    ConvertOptions.builder().sheetNames(staleSheets).build()
+                );
+
+            if (Objects.isNull(converted)) {
+                return null;
+            }
+
+            // 转换失败时服务池直接抛出异常，走到这里的结果是完整的，拆分成功后才写入缓存
+            final Map<String, String> convertedSheets
+                = splitSheets(converted, staleSheets);
+
+            if (Objects.isNull(convertedSheets))
+            {
+                log.warn(
+                    "Cannot split markdown of {} by sheet headings, fall back to full conversion.",
+                    tablePath.getFileName()
+                );
+
+                return poolManager.convertTableToMarkdown(tablePath);
+            }
+
+            for (SheetFingerprint sheet : fingerprints)
+            {
+                final String markdown = convertedSheets.get(sheet.name());
+
+                if (Objects.nonNull(markdown))
+                {
+                    cachedSheets.put(sheet.name(), markdown);
+                    this.store(sheet.fingerprint(), markdown);
+                }
+            }
+        }
+
+        StringBuilder markdown = new StringBuilder();
+
+        for (SheetFingerprint sheet : fingerprints)
+        {
+            if (!markdown.isEmpty()) {
+                markdown.append("\n\n");
+            }
+
+            markdown.append(cachedSheets.get(sheet.name()));
+        }
+
+        return markdown.toString();
+    }
+
+    /** 缓存中的工作表数量 */
+    public synchronized int
+    getCachedSheetCount() {
+        return this.sheetMarkdowns.size();
+    }
+
+    /** 清空缓存 */
+    public synchronized void
+    clear()
+    {
+        this.sheetMarkdowns.clear();
+        this.cachedChars = 0L;
+    }
+
+    private synchronized @Nullable String
+    lookup(@NotNull String fingerprint) {
+        return this.sheetMarkdowns.get(fingerprint);
+    }
+
+    /** 存入一个工作表的 Markdown，超出字符总数上限时淘汰最久未使用的工作表。*/
+    private synchronized void
+    store(@NotNull String fingerprint, @NotNull String markdown)
+    {
+        if (markdown.length() > this.maxCachedChars) {
+            return;
+        }
+
+        final String previous = this.sheetMarkdowns.put(fingerprint, markdown);
+
+        this.cachedChars += markdown.length();
+
+        if (Objects.nonNull(previous)) {
+            this.cachedChars -= previous.length();
+        }
+
+        Iterator<Map.Entry<String, String>> eldest
+            = this.sheetMarkdowns.entrySet().iterator();
+
+        while (this.cachedChars > this.maxCachedChars && eldest.hasNext())
+        {
+            this.cachedChars -= eldest.next().getValue().length();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * 按二级标题把转换结果拆分成各个工作表的 Markdown，
+     * 工作表在结果中按工作簿中的顺序出现（与 sheetNames 的顺序一致）。
+     *
+     * @return 工作表名称 -> 该工作表的 Markdown（找不到某个工作表的标题时返回 null）
+     */
+    private static @Nullable Map<String, String>
+    splitSheets(@NotNull String markdown, @NotNull List<String> sheetNames)
+    {
+        final int[] starts = new int[sheetNames.size()];
+
+        int searchFrom = 0;
+
+        for (int index = 0; index < sheetNames.size(); ++index)
+        {
+            final int start = findHeading(markdown, sheetNames.get(index), searchFrom);
+
+            if (start < 0) {
+                return null;
+            }
+
+            starts[index] = start;
+            searchFrom    = start + 1;
+        }
+
+        Map<String, String> sheets = new HashMap<>();
+
+        for (int index = 0; index < starts.length; ++index)
+        {
+            final int end
+                = (index + 1 < starts.length) ? starts[index + 1] : markdown.length();
+
+            sheets.put(sheetNames.get(index), markdown.substring(starts[index], end).strip());
+        }
+
+        return sheets;
+    }
+
+    /** 从 fromIndex 开始查找独占一行的 "## 工作表名称" 标题（找不到时返回 -1）。*/
+    private static int
+    findHeading(@NotNull String markdown, @NotNull String sheetName, int fromIndex)
+    {
+        final String heading = "## " + sheetName;
+
+        int start = markdown.indexOf(heading, fromIndex);
+
+        while (start >= 0)
+        {
+            final int end = start + heading.length();
+
+            final boolean atLineStart = start == 0 || markdown.charAt(start - 1) == '\n';
+            final boolean atLineEnd
+                = end == markdown.length() ||
+                  markdown.charAt(end) == '\n' ||
+                  markdown.charAt(end) == '\r';
+
+            if (atLineStart && atLineEnd) {
+                return start;
+            }
+
+            start = markdown.indexOf(heading, start + 1);
+        }
+
+        return -1;
+    }
+
+    /**
+     * 按工作簿中的顺序计算每个工作表的指纹，
+     * 格式不支持或工作簿结构不规范时返回 null（交给完整转换处理）。
+     */
+    private static @Nullable List<SheetFingerprint>
+    fingerprintSheets(@NotNull Path tablePath)
+    {
+        final String fileName = tablePath.getFileName().toString();
+
+        if (fileName.lastIndexOf('.') < 0 ||
+            !INCREMENTAL_EXTENSIONS.contains(FileExtensionChecker.extractFileExtension(fileName)))
+        {
+            return null;
+        }
+
+        try (ZipFile workbook = new ZipFile(tablePath.toFile()))
+        {
+            final Map<String, String> sheetIds       = new LinkedHashMap<>();
+            final byte[]              workbookDigest = readWorkbook(workbook, sheetIds);
+            final Map<String, String> targets        = readRelationships(workbook);
+            final List<String>        sharedStrings  = readSharedStrings(workbook);
+            final byte[]              stylesDigest   = digestPart(workbook, "xl/styles.xml");
+
+            List<SheetFingerprint> fingerprints = new ArrayList<>(sheetIds.size());
+
+            for (Map.Entry<String, String> sheet : sheetIds.entrySet())
+            {
+                final String target = targets.get(sheet.getValue());
+
+                final ZipEntry sheetPart
+                    = Objects.isNull(target) ? null : workbook.getEntry(target);
+
+                if (Objects.isNull(sheetPart)) {
+                    return null;
+                }
+
+                final MessageDigest digest = newDigest();
+
+                digest.update(sheet.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update(workbookDigest);
+                digest.update(stylesDigest);
+
+                digestSheet(workbook, sheetPart, sharedStrings, digest);
+
+                fingerprints.add(
+                    new SheetFingerprint(sheet.getKey(), HexFormat.of().formatHex(digest.digest()))
+                );
+            }
+
+            return fingerprints;
+        }
+        catch (IOException | XMLStreamException | RuntimeException exception)
+        {
+            log.debug(
+                "Cannot fingerprint sheets of {}, fall back to full conversion. Caused by: {}",
+                fileName, exception.getMessage()
+            );
+
+            return null;
+        }
+    }
+
+    /**
+     * 读取 xl/workbook.xml 中的工作表列表（名称 -> 关系 ID，保持工作簿中的顺序）。
+     *
+     * @return 工作簿级别设置（workbookPr，比如 1904 日期系统）的摘要
+     */
+    private static byte[]
+    readWorkbook(
+        @NotNull ZipFile             workbook,
+        @NotNull Map<String, String> sheetIds
+    ) throws IOException, XMLStreamException
+    {
+        final MessageDigest digest = newDigest();
+
+        try (InputStream part = openPart(workbook, "xl/workbook.xml"))
+        {
+            final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(part);
+
+            try
+            {
+                while (reader.hasNext())
+                {
+                    if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+
+                    switch (reader.getLocalName())
+                    {
+                        case "sheet" ->
+                            sheetIds.put(
+                                reader.getAttributeValue(null, "name"),
+                                reader.getAttributeValue(RELATIONSHIPS_NAMESPACE, "id")
+                            );
+
+                        case "workbookPr" ->
+                        {
+                            for (int index = 0; index < reader.getAttributeCount(); ++index)
+                            {
+                                digest.update(reader.getAttributeLocalName(index).getBytes(StandardCharsets.UTF_8));
+                                digest.update(reader.getAttributeValue(index).getBytes(StandardCharsets.UTF_8));
+                            }
+                        }
+
+                        default -> {}
+                    }
+                }
+            }
+            finally {
+                reader.close();
+            }
+        }
+
+        return digest.digest();
+    }
+
+    /** 读取 xl/_rels/workbook.xml.rels（关系 ID -> 部件在压缩包中的路径）。*/
+    private static @NotNull Map<String, String>
+    readRelationships(@NotNull ZipFile workbook) throws IOException, XMLStreamException
+    {
+        Map<String, String> targets = new HashMap<>();
+
+        try (InputStream part = openPart(workbook, "xl/_rels/workbook.xml.rels"))
+        {
+            final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(part);
+
+            try
+            {
+                while (reader.hasNext())
+                {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT &&
+                        "Relationship".equals(reader.getLocalName()))
+                    {
+                        final String target = reader.getAttributeValue(null, "Target");
+
+                        // 目标路径相对于 xl/，以 / 开头时相对于压缩包根目录
+                        targets.put(
+                            reader.getAttributeValue(null, "Id"),
+                            target.startsWith("/") ? target.substring(1) : "xl/" + target
+                        );
+                    }
+                }
+            }
+            finally {
+                reader.close();
+            }
+        }
+
+        return targets;
+    }
+
+    /** 读取共享字符串表（没有共享字符串时返回空列表），富文本的各段文字拼接在一起。*/
+    private static @NotNull List<String>
+    readSharedStrings(@NotNull ZipFile workbook) throws IOException, XMLStreamException
+    {
+        final ZipEntry sharedStringsPart = workbook.getEntry("xl/sharedStrings.xml");
+
+        if (Objects.isNull(sharedStringsPart)) {
+            return List.of();
+        }
+
+        List<String> sharedStrings = new ArrayList<>();
+
+        try (InputStream part = workbook.getInputStream(sharedStringsPart))
+        {
+            final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(part);
+
+            try
+            {
+                StringBuilder text = null;
+                boolean       inText = false;
+
+                while (reader.hasNext())
+                {
+                    switch (reader.next())
+                    {
+                        case XMLStreamConstants.START_ELEMENT ->
+                        {
+                            if ("si".equals(reader.getLocalName())) {
+                                text = new StringBuilder();
+                            }
+                            else if ("t".equals(reader.getLocalName())) {
+                                inText = true;
+                            }
+                        }
+
+                        case XMLStreamConstants.CHARACTERS,
+                             XMLStreamConstants.CDATA,
+                             XMLStreamConstants.SPACE ->
+                        {
+                            if (inText && Objects.nonNull(text)) {
+                                text.append(reader.getText());
+                            }
+                        }
+
+                        case XMLStreamConstants.END_ELEMENT ->
+                        {
+                            if ("t".equals(reader.getLocalName())) {
+                                inText = false;
+                            }
+                            else if ("si".equals(reader.getLocalName()) && Objects.nonNull(text))
+                            {
+                                sharedStrings.add(text.toString());
+                                text = null;
+                            }
+                        }
+
+                        default -> {}
+                    }
+                }
+            }
+            finally {
+                reader.close();
+            }
+        }
+
+        return sharedStrings;
+    }
+
+    /**
+     * 把工作表 XML 的内容写入摘要，共享字符串单元格按其引用的字符串（而不是下标）计入，
+     * 其他工作表的修改导致共享字符串表重排时，本工作表的指纹保持不变。
+     */
+    private static void
+    digestSheet(
+        @NotNull ZipFile       workbook,
+        @NotNull ZipEntry      sheetPart,
+        @NotNull List<String>  sharedStrings,
+        @NotNull MessageDigest digest
+    ) throws IOException, XMLStreamException
+    {
+        try (InputStream part = workbook.getInputStream(sheetPart))
+        {
+            final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(part);
+
+            try
+            {
+                boolean       sharedCell = false;
+                StringBuilder value      = null;
+
+                while (reader.hasNext())
+                {
+                    switch (reader.next())
+                    {
+                        case XMLStreamConstants.START_ELEMENT ->
+                        {
+                            final String element = reader.getLocalName();
+
+                            digestText(digest, '<', element);
+
+                            for (int index = 0; index < reader.getAttributeCount(); ++index)
+                            {
+                                digestText(digest, ' ', reader.getAttributeLocalName(index));
+                                digestText(digest, '=', reader.getAttributeValue(index));
+                            }
+
+                            if ("c".equals(element)) {
+                                sharedCell = "s".equals(reader.getAttributeValue(null, "t"));
+                            }
+                            else if (sharedCell && "v".equals(element)) {
+                                value = new StringBuilder();
+                            }
+                        }
+
+                        case XMLStreamConstants.CHARACTERS,
+                             XMLStreamConstants.CDATA ->
+                        {
+                            if (Objects.nonNull(value)) {
+                                value.append(reader.getText());
+                            }
+                            else {
+                                digestText(digest, '"', reader.getText());
+                            }
+                        }
+
+                        case XMLStreamConstants.END_ELEMENT ->
+                        {
+                            if ("v".equals(reader.getLocalName()) && Objects.nonNull(value))
+                            {
+                                final int    index        = Integer.parseInt(value.toString().trim());
+                                final String sharedString
+                                    = (index >= 0 && index < sharedStrings.size()) ? sharedStrings.get(index) : "";
+
+                                digestText(digest, '"', sharedString);
+                                value = null;
+                            }
+                            else if ("c".equals(reader.getLocalName())) {
+                                sharedCell = false;
+                            }
+
+                            digestText(digest, '>', reader.getLocalName());
+                        }
+
+                        default -> {}
+                    }
+                }
+            }
+            finally {
+                reader.close();
+            }
+        }
+    }
+
+    /** 以 "标记 + 文本 + 分隔符" 的形式把一段文本写入摘要，避免相邻文本拼接后产生歧义。*/
+    private static void
+    digestText(@NotNull MessageDigest digest, char marker, @NotNull String text)
+    {
+        digest.update((byte) marker);
+        digest.update(text.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /** 部件原始字节的摘要（部件不存在时为空摘要）。*/
+    private static byte[]
+    digestPart(@NotNull ZipFile workbook, @NotNull String partName) throws IOException
+    {
+        final MessageDigest digest = newDigest();
+        final ZipEntry      part   = workbook.getEntry(partName);
+
+        if (Objects.nonNull(part))
+        {
+            try (InputStream partStream
+                     = new DigestInputStream(workbook.getInputStream(part), digest))
+            {
+                partStream.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+
+        return digest.digest();
+    }
+
+    private static @NotNull InputStream
+    openPart(@NotNull ZipFile workbook, @NotNull String partName) throws IOException
+    {
+        final ZipEntry part = workbook.getEntry(partName);
+
+        if (Objects.isNull(part)) {
+            throw new IOException(String.format("Workbook part %s is missing!", partName));
+        }
+
+        return workbook.getInputStream(part);
+    }
+
+    private static @NotNull MessageDigest
+    newDigest()
+    {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available!", exception);
+        }
+    }
+
+    private static @NotNull XMLInputFactory
+    createInputFactory()
+    {
+        final XMLInputFactory factory = XMLInputFactory.newFactory();
+
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        return factory;
+    }
+}
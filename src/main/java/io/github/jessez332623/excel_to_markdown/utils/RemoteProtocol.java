@@ -0,0 +1,29 @@
+package io.github.jessez332623.excel_to_markdown.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 远程转换节点与调用方之间的 HTTP 协议约定（路径相对于节点的根地址，节点可以部署在网关的子路径下）。<br/>
+ * POST {@value #CONVERT_PATH}：请求体为表格文件内容，响应体为 UTF-8 编码的 Markdown 文本，
+ * 表格本身无法转换时返回 4xx，节点繁忙或关闭中时返回 503；<br/>
+ * GET  {@value #HEALTH_PATH}：节点池中仍有存活服务时返回 200。
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RemoteProtocol
+{
+    /** 执行转换的路径（相对路径，不能以 / 开头，否则会丢掉根地址中的路径）*/
+    public static final String CONVERT_PATH = "convert";
+
+    /** 健康检查的路径（相对路径）*/
+    public static final String HEALTH_PATH = "health";
+
+    /** 原始文件名请求头（URL 编码，节点依据扩展名选择解析器）*/
+    public static final String FILE_NAME_HEADER = "X-Table-File-Name";
+
+    /** 转换选项请求头（JSON 格式，可选）*/
+    public static final String OPTIONS_HEADER = "X-Convert-Options";
+
+    /** 响应体的内容类型 */
+    public static final String MARKDOWN_CONTENT_TYPE = "text/markdown; charset=utf-8";
+}
@@ -0,0 +1,141 @@
+package io.github.jessez332623.excel_to_markdown.utils;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 共享内存（内存映射文件）交接器。<br/>
+ * 输入的表格数据与 Python 服务输出的 Markdown 文本都通过 tmpfs（默认 /dev/shm）上的
+ * 内存映射文件进行交接，省去落盘 I/O 以及标准输出管道上的多次拷贝。
+ */
+@Slf4j
+public final class SharedMemoryHandoff
+{
+    /** 输入交接文件的前缀 */
+    private static final String INPUT_PREFIX  = "etm-in-";
+
+    /** 输出交接文件的前缀 */
+    private static final String OUTPUT_PREFIX = "etm-out-";
+
+    /** 交接文件所在目录 */
+    @Getter
+    private final Path directory;
+
+    public SharedMemoryHandoff(@NotNull Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 解析交接文件所在目录，
+     * 配置的目录不存在或不可写时（比如非 Linux 系统没有 /dev/shm），退回系统临时目录。
+     */
+    public static @NotNull Path
+    resolveDirectory(@Nullable String configured)
+    {
+        if (FileExtensionChecker.isNotEmptyString(configured))
+        {
+            Path candidate = Path.of(configured);
+
+            if (Files.isDirectory(candidate) && Files.isWritable(candidate)) {
+                return candidate;
+            }
+
+            log.warn(
+                "Shared memory directory {} is not available, fall back to system temp directory.",
+                candidate
+            );
+        }
+
+        return Path.of(System.getProperty("java.io.tmpdir"));
+    }
+
+    /**
+     * 把表格数据写入一个新的内存映射输入文件。
+     *
+     * @param tableBytes 表格文件内容
+     * @param fileName   原始文件名（用于保留扩展名，Python 侧依据扩展名选择解析器）
+     *
+     * @return 输入交接文件路径
+     */
+    public @NotNull Path
+    writeInput(@NotNull byte[] tableBytes, @NotNull String fileName) throws IOException
+    {
+        final Path input
+            = Files.createTempFile(
+                this.directory, INPUT_PREFIX,
+                FileExtensionChecker.extractFileExtension(fileName)
+            );
+
+        try (FileChannel channel
+                 = FileChannel.open(input, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            if (tableBytes.length > 0)
+            {
+                MappedByteBuffer region
+                    = channel.map(FileChannel.MapMode.READ_WRITE, 0L, tableBytes.length);
+
+                region.put(tableBytes);
+            }
+        }
+        catch (IOException exception)
+        {
+            this.deleteQuietly(input);
+            throw exception;
+        }
+
+        return input;
+    }
+
+    /** 创建一个空的输出交接文件，交给 Python 服务写入转换结果。*/
+    public @NotNull Path
+    createOutput() throws IOException {
+        return Files.createTempFile(this.directory, OUTPUT_PREFIX, ".md");
+    }
+
+    /** 直接从输出交接文件的映射区域解码出 Markdown 文本。*/
+    public @NotNull String
+    readOutput(@NotNull Path output) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.READ))
+        {
+            final long size = channel.size();
+
+            if (size == 0L) {
+                return "";
+            }
+
+            MappedByteBuffer region
+                = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+
+            return
+            StandardCharsets.UTF_8.decode(region).toString().trim();
+        }
+    }
+
+    /** “安静的” 删除交接文件。*/
+    public void
+    deleteQuietly(@Nullable Path handoffFile)
+    {
+        if (handoffFile == null) {
+            return;
+        }
+
+        try { Files.deleteIfExists(handoffFile); }
+        catch (IOException exception)
+        {
+            // 部分平台上仍被映射的文件无法立即删除，交给 JVM 退出时处理
+            log.debug("Cannot delete handoff file: {}", handoffFile, exception);
+            handoffFile.toFile().deleteOnExit();
+        }
+    }
+}
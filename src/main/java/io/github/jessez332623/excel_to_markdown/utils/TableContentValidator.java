@@ -0,0 +1,403 @@
+package io.github.jessez332623.excel_to_markdown.utils;
+
+import io.github.jessez332623.excel_to_markdown.exception.InvalidTableContent;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * 表格文件内容预检器。<br/>
+ * 在表格交给 Python 服务之前，于 JVM 内快速检查文件内容：
+ * 文件头魔数是否与扩展名相符（OLE2、OOXML ZIP、纯文本 CSV），
+ * ZIP 中央目录是否完整、必需的部件是否存在、解压后大小是否超限，以及单元格数量是否超限。
+ * 改名的 PDF、截断的上传、ZIP 炸弹因此在微秒级被拒绝，不再占用服务数秒甚至导致服务重启。
+ */
+public final class TableContentValidator
+{
+    /** OLE2 复合文档（.xls）的文件头 */
+    private static final byte[] OLE2_MAGIC
+        = { (byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1 };
+
+    /** ZIP 本地文件头（.xlsx、.xlsm、.xlsb）*/
+    private static final byte[] ZIP_MAGIC = { 'P', 'K', 0x03, 0x04 };
+
+    /** PDF 文件头（最常见的 “改名” 文件）*/
+    private static final byte[] PDF_MAGIC = { '%', 'P', 'D', 'F' };
+
+    /** CSV 检查前多少字节是否为文本？*/
+    private static final int TEXT_SNIFF_BYTES = 8192;
+
+    /** 读取工作表 XML 的前多少字节来寻找 dimension 元素？*/
+    private static final int DIMENSION_SNIFF_BYTES = 4096;
+
+    /** 压缩后小于该字节数的条目不检查压缩比（小文件的压缩比没有意义）*/
+    private static final long RATIO_CHECK_MIN_COMPRESSED = 1024L;
+
+    /** 以 ZIP 封装的扩展名 */
+    private static final Set<String> ZIP_EXTENSIONS = Set.of(".xlsx", ".xlsm", ".xlsb");
+
+    /** 工作表的 dimension 元素，比如 &lt;dimension ref="A1:F200"/&gt; */
+    private static final Pattern DIMENSION_PATTERN
+        = Pattern.compile("<(?:\\w+:)?dimension\\s+ref=\"([A-Z]+)(\\d+)(?::([A-Z]+)(\\d+))?\"");
+
+    /**
+     * 预检的限制。
+     *
+     * @param maxFileSizeBytes     文件大小上限
+     * @param maxExpandedSizeBytes ZIP 解压后的总大小上限
+     * @param maxZipEntries        ZIP 条目数量上限
+     * @param maxCompressionRatio  单个 ZIP 条目的压缩比上限
+     * @param maxCells             单元格数量上限（小于等于 0 表示不限制）
+     */
+    public record Limits(
+        long maxFileSizeBytes,
+        long maxExpandedSizeBytes,
+        int  maxZipEntries,
+        int  maxCompressionRatio,
+        long maxCells
+    )
+    {
+        /** 默认限制：文件 100 MB、解压后 1 GB、1 万个条目、压缩比 200、2000 万个单元格。*/
+        public static @NotNull Limits
+        defaults()
+        {
+            return new
+            Limits(
+                100L * 1024 * 1024, 1024L * 1024 * 1024,
+                10_000, 200, 20_000_000L
+            );
+        }
+    }
+
+    private final Limits limits;
+
+    public TableContentValidator(@NotNull Limits limits) {
+        this.limits = limits;
+    }
+
+    /** 本预检器使用的限制（压缩包转换沿用同一套限制）。*/
+    public @NotNull Limits
+    getLimits() {
+        return this.limits;
+    }
+
+    /**
+     * 执行预检，未通过时抛出 {@link InvalidTableContent}。
+     *
+     * @param tablePath 表格文件路径
+     */
+    public void
+    validate(@NotNull Path tablePath)
+    {
+        final String fileName = tablePath.getFileName().toString();
+
+        FileExtensionChecker.check(fileName);
+
+        final String extension
+            = FileExtensionChecker.extractFileExtension(fileName);
+
+        try
+        {
+            final long fileSize = Files.size(tablePath);
+
+            if (fileSize == 0L) {
+                throw new InvalidTableContent(String.format("Table %s is empty!", fileName));
+            }
+
+            if (fileSize > this.limits.maxFileSizeBytes())
+            {
+                throw new
+                InvalidTableContent(
+                    String.format(
+                        "Table %s is too large (%d bytes, limit %d bytes)!",
+                        fileName, fileSize, this.limits.maxFileSizeBytes()
+                    )
+                );
+            }
+
+            final byte[] head = readHead(tablePath, TEXT_SNIFF_BYTES);
+
+            if (ZIP_EXTENSIONS.contains(extension))
+            {
+                requireMagic(head, ZIP_MAGIC, fileName, "OOXML (ZIP)");
+                this.validateZipStructure(tablePath, extension, fileName);
+            }
+            else if (".xls".equals(extension)) {
+                requireMagic(head, OLE2_MAGIC, fileName, "OLE2");
+            }
+            else {
+                validateText(head, fileName);
+            }
+        }
+        catch (IOException exception)
+        {
+            throw new
+            InvalidTableContent(
+                String.format("Cannot read table %s! Caused by: %s", fileName, exception.getMessage()),
+                exception
+            );
+        }
+    }
+
+    /** 检查 ZIP 中央目录：条目数量、必需部件、解压后大小、压缩比与单元格数量。*/
+    private void
+    validateZipStructure(
+        @NotNull Path   tablePath,
+        @NotNull String extension,
+        @NotNull String fileName
+    ) throws IOException
+    {
+        // ZipFile 只读取中央目录，截断的文件在这里就会失败
+        try (ZipFile zipFile = new ZipFile(tablePath.toFile()))
+        {
+            if (zipFile.size() > this.limits.maxZipEntries())
+            {
+                throw new
+                InvalidTableContent(
+                    String.format(
+                        "Table %s has too many parts (%d, limit %d)!",
+                        fileName, zipFile.size(), this.limits.maxZipEntries()
+                    )
+                );
+            }
+
+            final String workbookPart
+                = ".xlsb".equals(extension) ? "xl/workbook.bin" : "xl/workbook.xml";
+
+            for (String requiredPart : new String[] { "[Content_Types].xml", workbookPart })
+            {
+                if (zipFile.getEntry(requiredPart) == null)
+                {
+                    throw new
+                    InvalidTableContent(
+                        String.format("Table %s is missing required part %s!", fileName, requiredPart)
+                    );
+                }
+            }
+
+            long expandedSize = 0L;
+            long cellCount    = 0L;
+
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+
+            while (entries.hasMoreElements())
+            {
+                final ZipEntry entry = entries.nextElement();
+
+                expandedSize += this.checkEntrySize(entry, fileName);
+
+                if (expandedSize > this.limits.maxExpandedSizeBytes())
+                {
+                    throw new
+                    InvalidTableContent(
+                        String.format(
+                            "Table %s expands beyond %d bytes!",
+                            fileName, this.limits.maxExpandedSizeBytes()
+                        )
+                    );
+                }
+
+                if (this.limits.maxCells() > 0L && isWorksheetXml(entry))
+                {
+                    cellCount += readDeclaredCells(zipFile, entry);
+
+                    if (cellCount > this.limits.maxCells())
+                    {
+                        throw new
+                        InvalidTableContent(
+                            String.format(
+                                "Table %s has too many cells (more than %d)!",
+                                fileName, this.limits.maxCells()
+                            )
+                        );
+                    }
+                }
+            }
+        }
+        catch (ZipException exception)
+        {
+            throw new
+            InvalidTableContent(
+                String.format("Table %s is truncated or corrupt! Caused by: %s", fileName, exception.getMessage()),
+                exception
+            );
+        }
+    }
+
+    /**
+     * 检查单个 ZIP 条目的压缩比。
+     *
+     * @return 条目解压后的大小（中央目录未记录时按压缩比上限估算）
+     */
+    private long
+    checkEntrySize(@NotNull ZipEntry entry, @NotNull String fileName)
+    {
+        final long size           = entry.getSize();
+        final long compressedSize = entry.getCompressedSize();
+
+        if (size < 0L) {
+            return Math.max(compressedSize, 0L) * this.limits.maxCompressionRatio();
+        }
+
+        if (compressedSize >= RATIO_CHECK_MIN_COMPRESSED &&
+            size / compressedSize > this.limits.maxCompressionRatio())
+        {
+            throw new
+            InvalidTableContent(
+                String.format(
+                    "Table %s part %s has a suspicious compression ratio (%d:1)!",
+                    fileName, entry.getName(), size / compressedSize
+                )
+            );
+        }
+
+        return size;
+    }
+
+    /** 条目是否为工作表 XML？*/
+    static boolean
+    isWorksheetXml(@NotNull ZipEntry entry)
+    {
+        final String name = entry.getName();
+
+        return
+        name.startsWith("xl/worksheets/") &&
+        name.endsWith(".xml") &&
+        name.indexOf('/', "xl/worksheets/".length()) == -1;
+    }
+
+    /** 从工作表 XML 开头的 dimension 元素读取声明的单元格数量（没有声明时返回 0）。*/
+    private static long
+    readDeclaredCells(@NotNull ZipFile zipFile, @NotNull ZipEntry entry) throws IOException
+    {
+        try (InputStream sheetStream = zipFile.getInputStream(entry))
+        {
+            final String sheetHead
+                = new String(sheetStream.readNBytes(DIMENSION_SNIFF_BYTES), StandardCharsets.UTF_8);
+
+            final Matcher matcher = DIMENSION_PATTERN.matcher(sheetHead);
+
+            if (!matcher.find()) {
+                return 0L;
+            }
+
+            final long firstColumn = columnNumber(matcher.group(1));
+            final long firstRow    = Long.parseLong(matcher.group(2));
+
+            // 只有一个单元格时 ref 没有冒号后的部分
+            if (matcher.group(3) == null) {
+                return 1L;
+            }
+
+            final long lastColumn = columnNumber(matcher.group(3));
+            final long lastRow    = Long.parseLong(matcher.group(4));
+
+            return
+            (Math.abs(lastRow - firstRow) + 1L) * (Math.abs(lastColumn - firstColumn) + 1L);
+        }
+    }
+
+    /** 列字母转列号（A -> 1，AA -> 27）。*/
+    private static long
+    columnNumber(@NotNull String columnLetters)
+    {
+        long column = 0L;
+
+        for (char letter : columnLetters.toCharArray()) {
+            column = column * 26L + (letter - 'A' + 1);
+        }
+
+        return column;
+    }
+
+    /** CSV 必须是文本：不是其他二进制格式，且开头不含 NUL 字节（UTF-16 文本除外）。*/
+    private static void
+    validateText(@NotNull byte[] head, @NotNull String fileName)
+    {
+        if (startsWith(head, ZIP_MAGIC) || startsWith(head, OLE2_MAGIC) || startsWith(head, PDF_MAGIC))
+        {
+            throw new
+            InvalidTableContent(
+                String.format("Table %s is a binary file rather than text CSV!", fileName)
+            );
+        }
+
+        // UTF-16 的 BOM，这类文本本来就含有 NUL 字节
+        final boolean isUtf16
+            = head.length >= 2 &&
+              ((head[0] == (byte) 0xFF && head[1] == (byte) 0xFE) ||
+               (head[0] == (byte) 0xFE && head[1] == (byte) 0xFF));
+
+        if (isUtf16) {
+            return;
+        }
+
+        for (byte b : head)
+        {
+            if (b == 0)
+            {
+                throw new
+                InvalidTableContent(
+                    String.format("Table %s contains binary content rather than text CSV!", fileName)
+                );
+            }
+        }
+    }
+
+    /** 检查文件头魔数。*/
+    private static void
+    requireMagic(
+        @NotNull byte[] head,
+        @NotNull byte[] magic,
+        @NotNull String  fileName,
+        @NotNull String  expectedFormat
+    )
+    {
+        if (startsWith(head, magic)) {
+            return;
+        }
+
+        final String actualFormat
+            = startsWith(head, PDF_MAGIC)  ? "PDF"
+            : startsWith(head, ZIP_MAGIC)  ? "ZIP"
+            : startsWith(head, OLE2_MAGIC) ? "OLE2"
+            : "unknown";
+
+        throw new
+        InvalidTableContent(
+            String.format(
+                "Table %s content does not match its extension, expect %s but got %s format!",
+                fileName, expectedFormat, actualFormat
+            )
+        );
+    }
+
+    private static boolean
+    startsWith(@NotNull byte[] head, @NotNull byte[] magic)
+    {
+        return
+        head.length >= magic.length &&
+        Arrays.equals(head, 0, magic.length, magic, 0, magic.length);
+    }
+
+    /** 读取文件开头最多 maxBytes 个字节。*/
+    private static @NotNull byte[]
+    readHead(@NotNull Path tablePath, int maxBytes) throws IOException
+    {
+        try (InputStream tableStream = Files.newInputStream(tablePath)) {
+            return tableStream.readNBytes(maxBytes);
+        }
+    }
+}
@@ -8,11 +8,24 @@ module excel_to_markdown
     requires spring.boot.autoconfigure;
     requires spring.beans;
 
+    // 远程转换节点（HTTP 客户端与独立节点的 HTTP 服务器）
+    requires java.net.http;
+    requires jdk.httpserver;
+
+    // 增量转换时解析工作簿的 XML 部件
+    requires java.xml;
+
+    // JDK Flight Recorder 自定义事件
+    requires jdk.jfr;
+
+    // Actuator 端点与健康检查（可选依赖）
+    requires static spring.boot.actuator;
+    requires static spring.boot.actuator.autoconfigure;
+
     // Lombok（编译时依赖）
     requires static lombok;
 
     // 注解相关
-    requires static jakarta.annotation;
     requires static org.jetbrains.annotations;
 
     // 日志
@@ -21,11 +34,17 @@ module excel_to_markdown
     // 导出公共 API 包
     exports io.github.jessez332623.excel_to_markdown.exception.exports;
     exports io.github.jessez332623.excel_to_markdown.autoconfigure;
+    exports io.github.jessez332623.excel_to_markdown.model;
+    exports io.github.jessez332623.excel_to_markdown.server;
+    exports io.github.jessez332623.excel_to_markdown.actuate;
     exports io.github.jessez332623.excel_to_markdown;
 
-    // 开放包给 Spring 反射
+    // 开放包给 Spring 反射（仅在模块路径上运行时生效，
+    // AOT / 原生镜像不依赖这些声明，所需的反射与资源由 ExcelToMarkdownRuntimeHints 与 Spring AOT 生成的提示提供）
     opens io.github.jessez332623.excel_to_markdown.autoconfigure
         to spring.core, spring.context;
     opens io.github.jessez332623.excel_to_markdown.impl
         to spring.core, spring.context, spring.beans;
+    opens io.github.jessez332623.excel_to_markdown.actuate
+        to spring.core, spring.context, spring.beans, spring.boot.actuator;
 }
\ No newline at end of file
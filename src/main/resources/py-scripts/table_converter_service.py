@@ -2,13 +2,33 @@
 # 在应用程序启动时一并启动本服务，相比原方案频繁的启动 / 销毁线程
 # 服务化策略可以让一次附件上传的响应时间从原来的 2 - 3 秒提升至 250 毫秒内
 
+import os
 import sys
 import io
+import csv
+import json
+import math
+import mmap
+import struct
+import numbers
+import itertools
 import warnings
 import traceback
 
+import pandas as pd
+
 from markitdown import MarkItDown
 
+try:
+    from markitdown.converters import HtmlConverter
+except ImportError:
+    from markitdown._markitdown import HtmlConverter
+
+try:
+    import openpyxl
+except ImportError:
+    openpyxl = None
+
 # 设置字符集为 UTF-8
 sys.stdout = io.TextIOWrapper(sys.stdout.buffer, encoding='utf-8')
 sys.stderr = io.TextIOWrapper(sys.stderr.buffer, encoding='utf-8')
@@ -18,14 +38,416 @@ warnings.filterwarnings('ignore', category=UserWarning, module='openpyxl')
 
 END_MARK    = "@@END_OF_CONVERSION@@"
 ERROR_MARK  = "@@END_OF_CONVERSION_ERROR@@"
+RESULT_MARK = "@@RESULT@@"
 
 # 初始化转换器（只一次）
 converter = MarkItDown()
 
-def convert_table_file(table_path):
+# 预览转换时，把 DataFrame 渲染成与 markitdown 一致的 Markdown 表格
+html_converter = HtmlConverter()
+
+# 较早版本 markitdown 的 HtmlConverter 没有 convert_string，
+# 启动时就检查并退出，而不是等到第一次预览转换时才失败
+if not callable(getattr(html_converter, "convert_string", None)):
+    print(
+        "ERROR: markitdown HtmlConverter has no convert_string(), "
+        "please upgrade markitdown (pip install -U 'markitdown[xlsx,xls]')",
+        file=sys.stderr
+    )
+    sys.stderr.flush()
+    sys.exit(1)
+
+# 快速路径：.xlsx / .xlsm 以 openpyxl 只读模式逐行读取，每读完一个工作表输出一次 Markdown，
+# 不把整张表加载进 DataFrame；Java 侧通过环境变量传入开关，不为 1 时所有表格都交给 markitdown
+FAST_PATH_ENABLED    = os.environ.get("EXCEL_TO_MARKDOWN_FAST_PATH", "0") == "1"
+FAST_PATH_EXTENSIONS = ('.xlsx', '.xlsm')
+
+# 列式输出：向输出文件写入带类型的列式二进制编码（小端序），Java 侧直接解码成 TableDocument，
+# 格式说明见 io.github.jessez332623.excel_to_markdown.model.TableDocument
+COLUMNAR_FORMAT  = "columnar"
+COLUMNAR_MAGIC   = b"XTMC"
+COLUMNAR_VERSION = 1
+
+COLUMN_STRING, COLUMN_INT64, COLUMN_DOUBLE, COLUMN_BOOLEAN = 0, 1, 2, 3
+
+INT64_MIN, INT64_MAX = -2 ** 63, 2 ** 63 - 1
+
+def select_sheets(sheet_names, options):
+    """按名称与下标（从 0 开始）筛选工作表，保持工作表在工作簿中的顺序，两者皆空时选择全部。"""
+    names   = set(options.get("sheets") or [])
+    indexes = set(options.get("sheetIndexes") or [])
+
+    if not names and not indexes:
+        return list(sheet_names)
+
+    return [
+        name for index, name in enumerate(sheet_names)
+        if name in names or index in indexes
+    ]
+
+def render_data_frame(data_frame):
+    html_content = data_frame.to_html(index=False)
+    return html_converter.convert_string(html_content).text_content.strip()
+
+def convert_csv_preview(table_path, max_rows):
+    """CSV 只读取表头与前 max_rows 行，渲染格式与 markitdown 的 CSV 转换保持一致。"""
+    with open(table_path, 'r', encoding='utf-8-sig', errors='replace', newline='') as table:
+        reader = csv.reader(table)
+        rows   = list(itertools.islice(reader, max_rows + 1)) if max_rows > 0 else list(reader)
+
+    if not rows:
+        return ""
+
+    header = rows[0]
+    markdown_table = [
+        "| " + " | ".join(header) + " |",
+        "| " + " | ".join(["---"] * len(header)) + " |"
+    ]
+    for row in rows[1:]:
+        row = (row + [""] * len(header))[:len(header)]
+        markdown_table.append("| " + " | ".join(row) + " |")
+
+    return "\n".join(markdown_table)
+
+def convert_with_options(table_path, options):
+    """
+    按工作表筛选与每个工作表的最大行数进行（预览）转换，
+    只解析被选中的工作表，读满行数上限即停止，不把整张表加载进 DataFrame。
+    """
+    max_rows = int(options.get("maxRows") or 0)
+
+    if table_path.lower().endswith('.csv'):
+        return convert_csv_preview(table_path, max_rows)
+
+    md_content = ""
+    with pd.ExcelFile(table_path) as workbook:
+        for sheet_name in select_sheets(workbook.sheet_names, options):
+            data_frame  = workbook.parse(sheet_name, nrows=max_rows if max_rows > 0 else None)
+            md_content += f"## {sheet_name}\n"
+            md_content += render_data_frame(data_frame) + "\n\n"
+
+    return md_content.strip()
+
+def open_fast_workbook(table_path):
+    """
+    以只读模式打开适用快速路径的工作簿，
+    不适用（格式不支持、快速路径关闭）或打不开（加密、结构不规范等）时返回 None，交由 markitdown 处理。
+    """
+    if not FAST_PATH_ENABLED or openpyxl is None:
+        return None
+    if not table_path.lower().endswith(FAST_PATH_EXTENSIONS):
+        return None
+
+    try:
+        return openpyxl.load_workbook(table_path, read_only=True, data_only=True)
+    except Exception:
+        return None
+
+def format_cell(value):
+    """单元格值转成 Markdown 表格里的文本（空单元格为空串，竖线转义，换行折叠成空格）。"""
+    if value is None:
+        return ""
+
+    text = str(value)
+    return text.replace("|", "\\|").replace("\r\n", " ").replace("\n", " ").replace("\r", " ")
+
+def iter_sheet_rows(worksheet, max_rows):
+    """
+    逐行产出一个工作表的原始值：跳过整行为空的行，首个非空行为表头（与 pandas 一致），
+    max_rows 大于 0 时数据行读满行数上限即停止。
+    """
+    data_rows = -1
+
+    for row in worksheet.iter_rows(values_only=True):
+        if all(value is None or value == "" for value in row):
+            continue
+        if max_rows > 0 and data_rows >= max_rows:
+            break
+
+        yield row
+        data_rows += 1
+
+def iter_sheet_markdown(worksheet, max_rows):
+    """
+    产出一个工作表的 Markdown 表格行：先读完整个工作表再产出，读取中途出错时不会留下半张表；
+    所有行统一成同一宽度（表头与数据行中最宽者，去掉行尾的空单元格），较短的行补空单元格，较短的表头补空列名。
+    """
+    rows = []
+    for row in iter_sheet_rows(worksheet, max_rows):
+        cells = [format_cell(value) for value in row]
+        while cells and cells[-1] == "":
+            cells.pop()
+        rows.append(cells)
+
+    if not rows:
+        return
+
+    width = max(len(cells) for cells in rows)
+
+    for index, cells in enumerate(rows):
+        yield "| " + " | ".join(cells + [""] * (width - len(cells))) + " |"
+        if index == 0:
+            yield "| " + " | ".join(["---"] * width) + " |"
+
+def iter_workbook_markdown(workbook, sheet_names, max_rows):
+    """逐行产出工作簿的 Markdown，每个工作表以二级标题开头，工作表之间空一行（与 markitdown 一致）。"""
+    for index, sheet_name in enumerate(sheet_names):
+        # 读完整个工作表再连同标题一起产出
+        sheet_lines = list(iter_sheet_markdown(workbook[sheet_name], max_rows))
+        if index > 0:
+            yield ""
+        yield f"## {sheet_name}"
+        yield from sheet_lines
+
+def convert_fast(workbook, output_path, mapped, options):
+    """
+    快速路径：逐个工作表产出 Markdown，写到标准输出时每读完一个工作表写出一次，
+    写入输出文件时返回 (工作表数量, 字节数)，写到标准输出时返回 None。
+    """
+    sheet_names = select_sheets(workbook.sheetnames, options)
+    max_rows    = int(options.get("maxRows") or 0)
+    lines       = iter_workbook_markdown(workbook, sheet_names, max_rows)
+
+    if not output_path:
+        for line in lines:
+            sys.stdout.write(line + "\n")
+        return None
+
+    if mapped:
+        # 内存映射写入需要事先知道总长度，只能先拼接完整结果
+        output_bytes = write_shared_output(output_path, "\n".join(lines))
+    else:
+        output_bytes = write_sink_lines(output_path, lines)
+
+    return len(sheet_names), output_bytes
+
+def convert_fallback(table_path, output_path, mapped, options):
+    """
+    markitdown（带选项时为 pandas）转换，
+    写入输出文件时返回 (工作表数量, 字节数)，写到标准输出时返回 None。
+    """
+    if options:
+        text_content = convert_with_options(table_path, options)
+    else:
+        text_content = converter.convert(table_path).text_content
+
+    if not output_path:
+        print(text_content)
+        return None
+
+    if mapped:
+        output_bytes = write_shared_output(output_path, text_content)
+    else:
+        output_bytes = write_sink_output(output_path, text_content)
+
+    return count_sheets(table_path, text_content), output_bytes
+
+def is_null_cell(value):
+    """空单元格：None、NaN 与 NaT。"""
+    if value is None or value is getattr(pd, "NaT", None):
+        return True
+    return isinstance(value, float) and math.isnan(value)
+
+def infer_column_type(values):
+    """
+    推断列类型：全为布尔值为 BOOLEAN，全为整数为 INT64，整数与小数混合为 DOUBLE，其余为 STRING；
+    超出 INT64 范围的整数换成小数会丢失精度，所在列按 STRING 保留完整的数字。
+    """
+    kinds = set()
+
+    for value in values:
+        if is_null_cell(value):
+            continue
+        if isinstance(value, bool):
+            kinds.add(COLUMN_BOOLEAN)
+        elif isinstance(value, numbers.Integral):
+            if not INT64_MIN <= value <= INT64_MAX:
+                return COLUMN_STRING
+            kinds.add(COLUMN_INT64)
+        elif isinstance(value, numbers.Real):
+            kinds.add(COLUMN_DOUBLE)
+        else:
+            return COLUMN_STRING
+
+    if kinds == {COLUMN_BOOLEAN}:
+        return COLUMN_BOOLEAN
+    if kinds == {COLUMN_INT64}:
+        return COLUMN_INT64
+    if kinds and kinds <= {COLUMN_INT64, COLUMN_DOUBLE}:
+        return COLUMN_DOUBLE
+    return COLUMN_STRING
+
+def rows_to_columns(rows):
+    """把工作表的行（第一行为表头）转成列名与各列的值，较短的表头补空列名，较短的行补空值。"""
+    rows = list(rows)
+    if not rows:
+        return [], []
+
+    header, data = list(rows[0]), rows[1:]
+    while header and is_null_cell(header[-1]):
+        header.pop()
+
+    width = len(header)
+    for row in data:
+        length = len(row)
+        while length > width and is_null_cell(row[length - 1]):
+            length -= 1
+        width = max(width, length)
+
+    names   = ["" if is_null_cell(name) else str(name) for name in header] + [""] * (width - len(header))
+    columns = [[row[index] if index < len(row) else None for row in data] for index in range(width)]
+
+    return names, columns
+
+def frame_to_columns(data_frame):
+    """DataFrame 转成列名与各列的值（tolist() 把 numpy 类型转回 Python 原生类型）。"""
+    names   = [str(name) for name in data_frame.columns]
+    columns = [data_frame.iloc[:, index].tolist() for index in range(len(names))]
+
+    return names, columns
+
+def iter_columnar_sheets(table_path, options):
+    """产出每个被选中工作表的 (名称, 列名, 各列的值)，.xlsx / .xlsm 优先走快速路径，CSV 的工作表名称为空串。"""
+    max_rows = int(options.get("maxRows") or 0)
+
+    workbook = open_fast_workbook(table_path)
+    if workbook is not None:
+        try:
+            for sheet_name in select_sheets(workbook.sheetnames, options):
+                yield (sheet_name,) + rows_to_columns(iter_sheet_rows(workbook[sheet_name], max_rows))
+        finally:
+            workbook.close()
+        return
+
+    nrows = max_rows if max_rows > 0 else None
+
+    if table_path.lower().endswith('.csv'):
+        yield ("",) + frame_to_columns(pd.read_csv(table_path, nrows=nrows))
+        return
+
+    with pd.ExcelFile(table_path) as excel_file:
+        for sheet_name in select_sheets(excel_file.sheet_names, options):
+            yield (sheet_name,) + frame_to_columns(excel_file.parse(sheet_name, nrows=nrows))
+
+def pack_string(out, text):
+    data = text.encode('utf-8')
+    out += struct.pack('<I', len(data))
+    out += data
+
+def pack_column(out, name, values):
+    """按 类型 + 空值掩码 + 值 的顺序写入一列。"""
+    row_count   = len(values)
+    column_type = infer_column_type(values)
+    nulls       = [is_null_cell(value) for value in values]
+
+    pack_string(out, name)
+    out.append(column_type)
+
+    mask = bytearray((row_count + 7) // 8)
+    for row, null in enumerate(nulls):
+        if null:
+            mask[row >> 3] |= 1 << (row & 7)
+    out += mask
+
+    if column_type == COLUMN_INT64:
+        out += struct.pack(f'<{row_count}q', *(0 if null else int(value) for value, null in zip(values, nulls)))
+    elif column_type == COLUMN_DOUBLE:
+        out += struct.pack(f'<{row_count}d', *(0.0 if null else float(value) for value, null in zip(values, nulls)))
+    elif column_type == COLUMN_BOOLEAN:
+        out += bytes(0 if null else int(bool(value)) for value, null in zip(values, nulls))
+    else:
+        chunks  = [b"" if null else str(value).encode('utf-8') for value, null in zip(values, nulls)]
+        offsets = list(itertools.accumulate((len(chunk) for chunk in chunks), initial=0))
+        out += struct.pack(f'<{row_count + 1}I', *offsets)
+        out += b"".join(chunks)
+
+def convert_columnar(table_path, output_path, options):
+    """列式输出：把被选中的工作表编码后写入输出文件，返回 (工作表数量, 字节数)。"""
+    if not output_path:
+        raise ValueError("Columnar output requires an output file!")
+
+    out = bytearray(COLUMNAR_MAGIC)
+    out += struct.pack('<HI', COLUMNAR_VERSION, 0)
+
+    sheets = 0
+    for sheet_name, names, columns in iter_columnar_sheets(table_path, options):
+        pack_string(out, sheet_name)
+        out += struct.pack('<II', len(columns[0]) if columns else 0, len(columns))
+        for name, values in zip(names, columns):
+            pack_column(out, name, values)
+        sheets += 1
+
+    # 工作表数量最后回填到文件头
+    struct.pack_into('<I', out, len(COLUMNAR_MAGIC) + 2, sheets)
+
+    with open(output_path, 'wb') as output:
+        output.write(out)
+
+    return sheets, len(out)
+
+def write_shared_output(output_path, text):
+    """
+    把转换结果写入 Java 侧创建好的输出交接文件（位于 /dev/shm 等 tmpfs 上），
+    通过内存映射写入，Java 侧直接从映射区域解码，不再经过标准输出管道。
+    """
+    data = text.encode('utf-8')
+
+    with open(output_path, 'r+b') as output:
+        output.truncate(len(data))
+        if data:
+            with mmap.mmap(output.fileno(), len(data)) as region:
+                region[:] = data
+
+    return len(data)
+
+def write_sink_output(output_path, text):
+    """把转换结果直接写入调用方指定的目标文件（普通的顺序写，不做内存映射）。"""
+    data = text.encode('utf-8')
+
+    with open(output_path, 'wb') as output:
+        output.write(data)
+
+    return len(data)
+
+def write_sink_lines(output_path, lines):
+    """把逐行产出的转换结果顺序写入调用方指定的目标文件，不在内存中拼接完整结果。"""
+    output_bytes = 0
+
+    with open(output_path, 'wb') as output:
+        for index, line in enumerate(lines):
+            data = (line if index == 0 else "\n" + line).encode('utf-8')
+            output.write(data)
+            output_bytes += len(data)
+
+    return output_bytes
+
+def count_sheets(table_path, text):
+    """统计转换结果中的工作表数量（markitdown 为每个工作表输出一个二级标题）。"""
+    if table_path.lower().endswith('.csv'):
+        return 1
+    return sum(1 for line in text.splitlines() if line.startswith('## '))
+
+def convert_markdown(table_path, output_path, mapped, options):
+    """Markdown 输出：能走快速路径的走快速路径，否则交给 markitdown。"""
+    workbook = open_fast_workbook(table_path)
+    if workbook is None:
+        return convert_fallback(table_path, output_path, mapped, options)
+
     try:
-        result = converter.convert(table_path)
-        print(result.text_content)
+        return convert_fast(workbook, output_path, mapped, options or {})
+    finally:
+        workbook.close()
+
+def convert_table_file(table_path, output_path=None, mapped=True, options=None, output_format=None):
+    try:
+        if output_format == COLUMNAR_FORMAT:
+            output_meta = convert_columnar(table_path, output_path, options or {})
+        else:
+            output_meta = convert_markdown(table_path, output_path, mapped, options)
+        if output_meta:
+            # 结果写入文件时，通过标准输出回报结果元数据
+            sheets, output_bytes = output_meta
+            print(RESULT_MARK + json.dumps({"sheets": sheets, "bytes": output_bytes}))
         print(END_MARK)  # 结束标记
         sys.stdout.flush()
 
@@ -54,9 +476,24 @@ if __name__ == "__main__":
                 sys.stdout.flush()
                 sys.stderr.flush()
                 sys.exit(0)  # 退出命令
-            convert_table_file(line)
+            if line.startswith("{"):
+                # JSON 格式的请求：
+                # {"input": 输入文件路径, "output": 输出文件路径, "mapped": 是否内存映射写入,
+                #  "options": 转换选项, "format": 输出格式（columnar 为列式编码，缺省为 Markdown）}
+                request = json.loads(line)
+                convert_table_file(
+                    request["input"], request.get("output"),
+                    request.get("mapped", True), request.get("options"), request.get("format")
+                )
+            else:
+                convert_table_file(line)
             
         except Exception as e:
             # 捕获所有异常，防止进程崩溃
             print(f"FATAL: Inner exception from process: {str(e)}", file=sys.stderr)
-            sys.stderr.flush()
\ No newline at end of file
+            sys.stderr.flush()
+
+            # 请求本身无法解析时也要给出结束标记，避免 Java 侧一直阻塞在读取结果上
+            print(ERROR_MARK)
+            print(END_MARK)
+            sys.stdout.flush()
\ No newline at end of file
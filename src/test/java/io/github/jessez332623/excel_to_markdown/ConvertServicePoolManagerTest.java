@@ -0,0 +1,109 @@
+package io.github.jessez332623.excel_to_markdown;
+
+import io.github.jessez332623.excel_to_markdown.exception.exports.ScriptWorkerException;
+import io.github.jessez332623.excel_to_markdown.model.ConvertSinkResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** 接口默认实现：写入目标文件的原子性与工作表数量。*/
+class ConvertServicePoolManagerTest
+{
+    @TempDir
+    Path tempDir;
+
+    /** 替身服务池：返回指定的 Markdown，为 null 时模拟服务池关闭中，failing 为 true 时转换失败。*/
+    private static final class StandInPool implements ConvertServicePoolManager
+    {
+        String markdown = "## 汇总\n| a |\n| --- |\n| 1 |";
+
+        boolean failing = false;
+
+        @Override
+        public String
+        convertTableToMarkdown(Path tablePath)
+        {
+            if (this.failing) {
+                throw new ScriptWorkerException("Python script encountered an error during execution");
+            }
+
+            return this.markdown;
+        }
+    }
+
+    private final StandInPool pool = new StandInPool();
+
+    private Path
+    existingDestination() throws IOException {
+        return Files.writeString(this.tempDir.resolve("report.md"), "previous report");
+    }
+
+    private long
+    fileCount() throws IOException
+    {
+        try (Stream<Path> files = Files.list(this.tempDir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void successfulConversionReplacesDestination() throws IOException
+    {
+        final Path destination = existingDestination();
+
+        ConvertSinkResult result = this.pool.convertTableToMarkdown(Path.of("table.xlsx"), destination);
+
+        assertThat(Files.readString(destination)).isEqualTo(this.pool.markdown);
+        assertThat(result.bytesWritten()).isEqualTo(this.pool.markdown.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(fileCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void failedConversionLeavesDestinationUntouched() throws IOException
+    {
+        final Path destination = existingDestination();
+
+        this.pool.failing = true;
+
+        assertThatThrownBy(() -> this.pool.convertTableToMarkdown(Path.of("table.xlsx"), destination))
+            .isInstanceOf(ScriptWorkerException.class);
+
+        assertThat(Files.readString(destination)).isEqualTo("previous report");
+        assertThat(fileCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void shuttingDownPoolLeavesDestinationUntouched() throws IOException
+    {
+        final Path destination = existingDestination();
+
+        this.pool.markdown = null;
+
+        assertThat(this.pool.convertTableToMarkdown(Path.of("table.xlsx"), destination)).isNull();
+        assertThat(Files.readString(destination)).isEqualTo("previous report");
+        assertThat(fileCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void sheetCountIsUnknownFromMarkdownAlone() throws IOException
+    {
+        // CSV 的结果没有工作表标题，空表格的结果为空串，都推断不出工作表数量
+        for (String markdown : new String[] { "| a |\n| --- |\n| 1 |", "", "## 汇总\n| a |" })
+        {
+            this.pool.markdown = markdown;
+
+            ConvertSinkResult result
+                = this.pool.convertTableToMarkdown(Path.of("table.csv"), this.tempDir.resolve("out.md"));
+
+            assertThat(result.sheetCount()).isEqualTo(ConvertSinkResult.UNKNOWN_SHEET_COUNT);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.jessez332623.excel_to_markdown.autoconfigure;
+
+import io.github.jessez332623.excel_to_markdown.ConvertServicePoolManager;
+import io.github.jessez332623.excel_to_markdown.impl.DefaultConvertServicePoolManager;
+import io.github.jessez332623.excel_to_markdown.impl.RemoteConvertServicePoolManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 在模块路径上启动自动配置（本测试随主模块一起以模块方式运行），
+ * 检验 module-info 中开放给 Spring 的包足以完成配置类代理、属性绑定与 Bean 创建。
+ */
+class ExcelToMarkdownAutoConfigurationTest
+{
+    private final ApplicationContextRunner contextRunner
+        = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ExcelToMarkdownAutoConfiguration.class));
+
+    @Test
+    void backsOffWhenNotEnabled()
+    {
+        this.contextRunner.run((context) ->
+            assertThat(context).doesNotHaveBean(ConvertServicePoolManager.class)
+        );
+    }
+
+    @Test
+    void remoteModeReplacesLocalPool()
+    {
+        this.contextRunner
+            .withPropertyValues(
+                "app.excel-to-markdown.enabled=true",
+                "app.excel-to-markdown.remote.enabled=true",
+                "app.excel-to-markdown.remote.nodes=http://127.0.0.1:1/",
+                "app.excel-to-markdown.remote.health-check-interval-millis=600000"
+            )
+            .run((context) -> {
+                assertThat(context).hasNotFailed();
+                assertThat(context).hasSingleBean(ConvertServicePoolManager.class);
+                assertThat(context).getBean(ConvertServicePoolManager.class)
+                                   .isInstanceOf(RemoteConvertServicePoolManager.class);
+                assertThat(context).doesNotHaveBean(DefaultConvertServicePoolManager.class);
+
+                ExcelToMarkdownProperties properties = context.getBean(ExcelToMarkdownProperties.class);
+
+                assertThat(properties.getRemote().getNodes()).containsExactly("http://127.0.0.1:1/");
+                assertThat(properties.getRemote().getHealthCheckIntervalMillis()).isEqualTo(600_000);
+            });
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.jessez332623.excel_to_markdown.autoconfigure;
+
+import io.github.jessez332623.excel_to_markdown.impl.DefaultConvertServicePoolManager;
+import io.github.jessez332623.excel_to_markdown.model.WorkerSnapshot;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.generate.ClassNameGenerator;
+import org.springframework.aot.generate.DefaultGenerationContext;
+import org.springframework.aot.generate.InMemoryGeneratedFiles;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.aot.ApplicationContextAotGenerator;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.javapoet.ClassName;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExcelToMarkdownRuntimeHintsTest
+{
+    private static final String SCRIPT_RESOURCE = "py-scripts/table_converter_service.py";
+
+    private static void
+    assertConverterHints(@NotNull RuntimeHints hints)
+    {
+        assertThat(RuntimeHintsPredicates.resource().forResource(SCRIPT_RESOURCE))
+            .accepts(hints);
+
+        assertThat(RuntimeHintsPredicates.reflection().onType(WorkerSnapshot.class))
+            .accepts(hints);
+
+        // Jackson 通过记录类的访问器读取字段
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(WorkerSnapshot.class, "pid"))
+            .accepts(hints);
+    }
+
+    @Test
+    void registersScriptResourceAndSnapshotBinding()
+    {
+        RuntimeHints hints = new RuntimeHints();
+
+        new ExcelToMarkdownRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertConverterHints(hints);
+    }
+
+    @Test
+    void aheadOfTimeProcessingOfAutoConfigurationContributesHints()
+    {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext())
+        {
+            context.getEnvironment()
+                   .getPropertySources()
+                   .addFirst(new MapPropertySource("test", Map.of("app.excel-to-markdown.enabled", "true")));
+
+            context.register(ExcelToMarkdownAutoConfiguration.class);
+
+            DefaultGenerationContext generationContext
+                = new DefaultGenerationContext(
+                    new ClassNameGenerator(ClassName.get(ExcelToMarkdownRuntimeHintsTest.class)),
+                    new InMemoryGeneratedFiles()
+                );
+
+            // 只处理 Bean 定义，不会创建服务池，也就不会启动 Python 服务
+            new ApplicationContextAotGenerator().processAheadOfTime(context, generationContext);
+
+            assertConverterHints(generationContext.getRuntimeHints());
+
+            // 配置属性绑定需要调用各级属性类的 setter
+            assertThat(RuntimeHintsPredicates.reflection().onMethod(ExcelToMarkdownProperties.class, "setFastPath"))
+                .accepts(generationContext.getRuntimeHints());
+            assertThat(RuntimeHintsPredicates.reflection().onMethod(ExcelToMarkdownProperties.Remote.class, "setNodes"))
+                .accepts(generationContext.getRuntimeHints());
+
+            // 未启用远程转换节点时注册的是本地服务池
+            assertThat(context.getBeanNamesForType(DefaultConvertServicePoolManager.class))
+                .containsExactly("convertServicePoolManager");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.jessez332623.excel_to_markdown.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DefaultConvertServicePoolManagerTest
+{
+    @Test
+    void outputSizeCountsUtf8Bytes()
+    {
+        for (String markdown : new String[] {
+            "",
+            "| a | b |",
+            "## 销售\n| 名称 | 单价 |",
+            "é ü ß",
+            "emoji 😀 and 𝄞",
+            "lone \uD800 surrogate \uDC00"
+        })
+        {
+            assertThat(DefaultConvertServicePoolManager.utf8Length(markdown))
+                .as(markdown)
+                .isEqualTo(markdown.getBytes(StandardCharsets.UTF_8).length);
+        }
+    }
+
+    @Test
+    void workersSpreadOverCpusInOrder()
+    {
+        final List<Integer> cpus   = List.of(4, 5, 6);
+        final List<Integer> pinned = new ArrayList<>();
+
+        for (int worker = 0; worker < 5; ++worker) {
+            pinned.add(DefaultConvertServicePoolManager.leastPinnedCpu(cpus, pinned));
+        }
+
+        assertThat(pinned).containsExactly(4, 5, 6, 4, 5);
+    }
+
+    @Test
+    void growAfterShrinkFillsFreedCpus()
+    {
+        final List<Integer> cpus = List.of(0, 1, 2, 3);
+
+        // 四个服务各占一个 CPU，缩容时 0 号与 2 号 CPU 上的服务退役
+        final List<Integer> pinned = new ArrayList<>(List.of(1, 3));
+
+        pinned.add(DefaultConvertServicePoolManager.leastPinnedCpu(cpus, pinned));
+        pinned.add(DefaultConvertServicePoolManager.leastPinnedCpu(cpus, pinned));
+
+        assertThat(pinned).containsExactlyInAnyOrder(0, 1, 2, 3);
+    }
+}
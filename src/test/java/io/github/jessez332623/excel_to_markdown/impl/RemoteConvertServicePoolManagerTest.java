@@ -0,0 +1,370 @@
+package io.github.jessez332623.excel_to_markdown.impl;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.jessez332623.excel_to_markdown.exception.exports.ScriptWorkerException;
+import io.github.jessez332623.excel_to_markdown.exception.exports.ScriptWorkerUnavailableException;
+import io.github.jessez332623.excel_to_markdown.model.ConvertOptions;
+import io.github.jessez332623.excel_to_markdown.server.ConvertServiceServer;
+import io.github.jessez332623.excel_to_markdown.utils.RemoteProtocol;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** 以回环地址上的本地替身节点测试远程分发：轮转、故障转移与状态码映射。*/
+class RemoteConvertServicePoolManagerTest
+{
+    private static final byte[] TABLE = "name,value\ncell,1\n".getBytes(StandardCharsets.UTF_8);
+
+    private final List<ConvertServiceServer> servers = new ArrayList<>();
+
+    private RemoteConvertServicePoolManager client;
+
+    /**
+     * 替身服务池：不启动 Python 服务，直接返回带节点名称的 Markdown，
+     * failing 为 true 时模拟服务繁忙（节点返回 503），rejecting 为 true 时模拟表格无法转换（节点返回 422），
+     * delayMillis 大于 0 时每次转换前等待相应毫秒数。
+     */
+    private static final class StandInPool extends DefaultConvertServicePoolManager
+    {
+        private final String name;
+
+        private final AtomicInteger received = new AtomicInteger(0);
+
+        private final AtomicInteger served = new AtomicInteger(0);
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private volatile boolean failing = false;
+
+        private volatile boolean rejecting = false;
+
+        private volatile long delayMillis = 0L;
+
+        private StandInPool(String name)
+        {
+            super(1, 1);
+            this.name = name;
+        }
+
+        @Override
+        public String
+        convertTableToMarkdown(Path tablePath, ConvertOptions options)
+        {
+            this.received.incrementAndGet();
+            this.started.countDown();
+
+            if (this.failing) {
+                throw new ScriptWorkerUnavailableException("All service busy! Please try again later...");
+            }
+
+            if (this.rejecting)
+            {
+                throw new ScriptWorkerException(
+                    "Python script encountered an error during execution, please check the log for details."
+                );
+            }
+
+            try
+            {
+                Thread.sleep(this.delayMillis);
+
+                final String markdown = "## " + this.name + "\n" + Files.readString(tablePath);
+
+                this.served.incrementAndGet();
+
+                return markdown;
+            }
+            catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                throw new ScriptWorkerUnavailableException("interrupted", exception);
+            }
+        }
+
+        @Override
+        public int
+        getAliveWorkerCount() {
+            return 1;
+        }
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        if (client != null) {
+            client.destroy();
+        }
+
+        servers.forEach(ConvertServiceServer::close);
+    }
+
+    private @NotNull URI
+    startNode(@NotNull StandInPool pool) throws IOException
+    {
+        ConvertServiceServer server
+            = new ConvertServiceServer(pool, new InetSocketAddress("127.0.0.1", 0), 2);
+
+        server.start();
+        servers.add(server);
+
+        return URI.create(String.format("http://127.0.0.1:%d/", server.getPort()));
+    }
+
+    /** 一个已经关闭的节点地址（连接会被拒绝）。*/
+    private @NotNull URI
+    downNode() throws IOException
+    {
+        ConvertServiceServer server
+            = new ConvertServiceServer(
+                new StandInPool("down"), new InetSocketAddress("127.0.0.1", 0), 1);
+
+        server.start();
+
+        final int port = server.getPort();
+
+        server.close();
+
+        return URI.create(String.format("http://127.0.0.1:%d/", port));
+    }
+
+    private static @NotNull HttpResponse<String>
+    post(@NotNull URI node, @NotNull String fileName) throws IOException, InterruptedException
+    {
+        return
+        HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(node.resolve(RemoteProtocol.CONVERT_PATH))
+                       .header(RemoteProtocol.FILE_NAME_HEADER, fileName)
+                       .POST(HttpRequest.BodyPublishers.ofByteArray(TABLE))
+                       .build(),
+            HttpResponse.BodyHandlers.ofString()
+        );
+    }
+
+    private @NotNull RemoteConvertServicePoolManager
+    connect(@NotNull URI... nodes)
+    {
+        client = new RemoteConvertServicePoolManager(
+            List.of(nodes), Duration.ofSeconds(10L), Duration.ofMinutes(10L)
+        );
+        client.init();
+
+        return client;
+    }
+
+    @Test
+    void idleNodesAreUsedInTurn() throws IOException
+    {
+        StandInPool first  = new StandInPool("first");
+        StandInPool second = new StandInPool("second");
+
+        RemoteConvertServicePoolManager manager
+            = connect(startNode(first), startNode(second));
+
+        for (int request = 0; request < 6; ++request) {
+            assertThat(manager.convertTableToMarkdown(TABLE, "table.csv")).contains("cell,1");
+        }
+
+        assertThat(first.served).hasValue(3);
+        assertThat(second.served).hasValue(3);
+    }
+
+    @Test
+    void unreachableNodeFailsOverToHealthyNode() throws IOException
+    {
+        StandInPool healthy = new StandInPool("healthy");
+
+        RemoteConvertServicePoolManager manager
+            = connect(downNode(), startNode(healthy));
+
+        for (int request = 0; request < 4; ++request) {
+            assertThat(manager.convertTableToMarkdown(TABLE, "table.csv")).startsWith("## healthy");
+        }
+
+        assertThat(healthy.served).hasValue(4);
+    }
+
+    @Test
+    void busyNodeRespondsServiceUnavailableAndIsSkipped() throws Exception
+    {
+        StandInPool busy   = new StandInPool("busy");
+        StandInPool backup = new StandInPool("backup");
+
+        busy.failing = true;
+
+        final URI busyNode = startNode(busy);
+
+        assertThat(post(busyNode, "table.csv").statusCode()).isEqualTo(503);
+
+        RemoteConvertServicePoolManager manager = connect(busyNode, startNode(backup));
+
+        for (int request = 0; request < 3; ++request) {
+            assertThat(manager.convertTableToMarkdown(TABLE, "table.csv")).startsWith("## backup");
+        }
+
+        assertThat(backup.served).hasValue(3);
+    }
+
+    @Test
+    void allNodesBusyFailsTheRequest() throws IOException
+    {
+        StandInPool first  = new StandInPool("first");
+        StandInPool second = new StandInPool("second");
+
+        first.failing  = true;
+        second.failing = true;
+
+        RemoteConvertServicePoolManager manager
+            = connect(startNode(first), startNode(second));
+
+        assertThatThrownBy(() -> manager.convertTableToMarkdown(TABLE, "table.csv"))
+            .isInstanceOf(ScriptWorkerUnavailableException.class)
+            .hasMessageContaining("All remote converter nodes failed");
+
+        assertThat(first.received).hasValue(1);
+        assertThat(second.received).hasValue(1);
+    }
+
+    @Test
+    void unsupportedExtensionIsBadRequest() throws Exception
+    {
+        StandInPool pool = new StandInPool("node");
+
+        assertThat(post(startNode(pool), "table.pdf").statusCode()).isEqualTo(400);
+        assertThat(pool.received).hasValue(0);
+    }
+
+    @Test
+    void unconvertibleTableIsNotRetriedOnOtherNodes() throws Exception
+    {
+        StandInPool first  = new StandInPool("first");
+        StandInPool second = new StandInPool("second");
+
+        first.rejecting  = true;
+        second.rejecting = true;
+
+        final URI firstNode = startNode(first);
+
+        assertThat(post(firstNode, "table.csv").statusCode()).isEqualTo(422);
+
+        RemoteConvertServicePoolManager manager = connect(firstNode, startNode(second));
+
+        // 节点自己判定表格无法转换并返回 4xx，客户端不再把同一个表格发给其他节点
+        assertThatThrownBy(() -> manager.convertTableToMarkdown(TABLE, "table.csv"))
+            .isInstanceOf(ScriptWorkerException.class)
+            .isNotInstanceOf(ScriptWorkerUnavailableException.class)
+            .hasMessageContaining("rejected the table");
+
+        assertThat(first.received.get() + second.received.get()).isEqualTo(2);
+        assertThat(first.served.get() + second.served.get()).isZero();
+    }
+
+    @Test
+    void nodeBehindPathPrefixKeepsThePrefix() throws IOException
+    {
+        final List<String> requestedPaths = new CopyOnWriteArrayList<>();
+
+        // 网关替身：节点挂在 /excel/ 子路径下
+        HttpServer gateway = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+
+        gateway.createContext("/", (exchange) -> {
+            try (exchange)
+            {
+                final String path = exchange.getRequestURI().getPath();
+                final byte[] body = "## gateway".getBytes(StandardCharsets.UTF_8);
+
+                requestedPaths.add(path);
+
+                if (!path.startsWith("/excel/"))
+                {
+                    exchange.sendResponseHeaders(404, -1);
+                    return;
+                }
+
+                exchange.sendResponseHeaders(200, body.length);
+
+                try (OutputStream responseBody = exchange.getResponseBody()) {
+                    responseBody.write(body);
+                }
+            }
+        });
+        gateway.start();
+
+        try
+        {
+            // 根地址不以 / 结尾时同样保留子路径
+            RemoteConvertServicePoolManager manager
+                = connect(URI.create(String.format("http://127.0.0.1:%d/excel", gateway.getAddress().getPort())));
+
+            assertThat(manager.convertTableToMarkdown(TABLE, "table.csv")).isEqualTo("## gateway");
+            assertThat(requestedPaths).contains("/excel/convert").allMatch((path) -> path.startsWith("/excel/"));
+        }
+        finally {
+            gateway.stop(0);
+        }
+    }
+
+    @Test
+    void closeWaitsOnlyForInFlightRequests() throws Exception
+    {
+        StandInPool slow = new StandInPool("slow");
+
+        slow.delayMillis = 500L;
+
+        ConvertServiceServer server
+            = new ConvertServiceServer(slow, new InetSocketAddress("127.0.0.1", 0), 2);
+
+        server.start();
+
+        final URI node = URI.create(String.format("http://127.0.0.1:%d/", server.getPort()));
+
+        CompletableFuture<HttpResponse<String>> inFlight
+            = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return post(node, "table.csv");
+                }
+                catch (IOException | InterruptedException exception) {
+                    throw new IllegalStateException(exception);
+                }
+            });
+
+        assertThat(slow.started.await(5L, TimeUnit.SECONDS)).isTrue();
+
+        final long closeStart = System.nanoTime();
+
+        server.close();
+
+        // 手头的请求处理完就立即停止，不会等满停止时限
+        assertThat(Duration.ofNanos(System.nanoTime() - closeStart)).isLessThan(Duration.ofSeconds(3L));
+
+        HttpResponse<String> response = inFlight.get(5L, TimeUnit.SECONDS);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).startsWith("## slow");
+    }
+}
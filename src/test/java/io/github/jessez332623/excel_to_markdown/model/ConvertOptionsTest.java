@@ -0,0 +1,80 @@
+package io.github.jessez332623.excel_to_markdown.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConvertOptionsTest
+{
+    @Test
+    void emptyOptionsAreFullConversion()
+    {
+        ConvertOptions options = ConvertOptions.builder().build();
+
+        assertThat(options.isFullConversion()).isTrue();
+        assertThat(options.getSheetNames()).isEmpty();
+        assertThat(options.getSheetIndexes()).isEmpty();
+        assertThat(options.getMaxRowsPerSheet()).isZero();
+    }
+
+    @Test
+    void anySelectionOrRowLimitIsPartial()
+    {
+        assertThat(ConvertOptions.builder().sheetName("汇总").build().isFullConversion()).isFalse();
+        assertThat(ConvertOptions.builder().sheetIndex(0).build().isFullConversion()).isFalse();
+        assertThat(ConvertOptions.builder().maxRowsPerSheet(50).build().isFullConversion()).isFalse();
+        assertThat(ConvertOptions.builder().maxRowsPerSheet(-1).build().isFullConversion()).isTrue();
+    }
+
+    @Test
+    void requestOptionsClampNegativeRowLimit()
+    {
+        Map<String, Object> request
+            = ConvertOptions.builder().maxRowsPerSheet(-5).build().toRequestOptions();
+
+        assertThat(request).containsEntry("maxRows", 0);
+    }
+
+    @Test
+    void requestOptionsRoundTrip()
+    {
+        ConvertOptions options
+            = ConvertOptions.builder()
+                            .sheetName("汇总")
+                            .sheetName("明细")
+                            .sheetIndex(2)
+                            .maxRowsPerSheet(50)
+                            .build();
+
+        ConvertOptions restored = ConvertOptions.fromRequestOptions(options.toRequestOptions());
+
+        assertThat(restored.getSheetNames()).containsExactlyInAnyOrder("汇总", "明细");
+        assertThat(restored.getSheetIndexes()).containsExactly(2);
+        assertThat(restored.getMaxRowsPerSheet()).isEqualTo(50);
+    }
+
+    @Test
+    void restoresFromJsonShapedValues()
+    {
+        // JSON 解析器给出的是 List 与各种 Number，下标列表里也可能出现 null
+        ConvertOptions restored
+            = ConvertOptions.fromRequestOptions(Map.of(
+                "sheets",       List.of("Sheet1", 7),
+                "sheetIndexes", Arrays.asList(1L, null, 3.0),
+                "maxRows",      20L
+            ));
+
+        assertThat(restored.getSheetNames()).containsExactlyInAnyOrder("Sheet1", "7");
+        assertThat(restored.getSheetIndexes()).containsExactlyInAnyOrder(1, 3);
+        assertThat(restored.getMaxRowsPerSheet()).isEqualTo(20);
+    }
+
+    @Test
+    void missingRequestOptionsMeanFullConversion() {
+        assertThat(ConvertOptions.fromRequestOptions(Map.of()).isFullConversion()).isTrue();
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.jessez332623.excel_to_markdown.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TableColumnTest
+{
+    @Test
+    void formatsDoublesLikePythonStr()
+    {
+        // 期望值取自 CPython 的 str(float)
+        Map<Double, String> expected
+            = Map.ofEntries(
+                Map.entry(100.0,                   "100.0"),
+                Map.entry(1.5,                     "1.5"),
+                Map.entry(1.5e10,                  "15000000000.0"),
+                Map.entry(0.1,                     "0.1"),
+                Map.entry(0.0001,                  "0.0001"),
+                Map.entry(0.00001,                 "1e-05"),
+                Map.entry(1.5e-05,                 "1.5e-05"),
+                Map.entry(1e16,                    "1e+16"),
+                Map.entry(9999999999999998.0,      "9999999999999998.0"),
+                Map.entry(1.2345678901234568e17,   "1.2345678901234568e+17"),
+                Map.entry(123.456,                 "123.456"),
+                Map.entry(-0.25,                   "-0.25"),
+                Map.entry(-2.5e-07,                "-2.5e-07"),
+                Map.entry(1.7976931348623157e308,  "1.7976931348623157e+308"),
+                Map.entry(Double.MIN_VALUE,        "5e-324"),
+                Map.entry(0.30000000000000004,     "0.30000000000000004"),
+                Map.entry(9007199254740992.0,      "9007199254740992.0")
+            );
+
+        expected.forEach((value, text) ->
+            assertThat(TableColumn.formatDouble(value)).as("%s", value).isEqualTo(text)
+        );
+    }
+
+    @Test
+    void formatsSpecialDoublesLikePythonStr()
+    {
+        assertThat(TableColumn.formatDouble(0.0)).isEqualTo("0.0");
+        assertThat(TableColumn.formatDouble(-0.0)).isEqualTo("-0.0");
+        assertThat(TableColumn.formatDouble(Double.NaN)).isEqualTo("nan");
+        assertThat(TableColumn.formatDouble(Double.POSITIVE_INFINITY)).isEqualTo("inf");
+        assertThat(TableColumn.formatDouble(Double.NEGATIVE_INFINITY)).isEqualTo("-inf");
+    }
+
+    @Test
+    void formatsCellsByType()
+    {
+        BitSet nulls = new BitSet();
+        nulls.set(1);
+
+        TableColumn doubles
+            = new TableColumn("v", TableColumn.Type.DOUBLE, 3, nulls, null, new double[] { 2.0, 0.0, 1e20 }, null, null);
+
+        assertThat(doubles.formatCell(0)).isEqualTo("2.0");
+        assertThat(doubles.formatCell(1)).isEmpty();
+        assertThat(doubles.formatCell(2)).isEqualTo("1e+20");
+
+        TableColumn strings
+            = new TableColumn("s", TableColumn.Type.STRING, 1, new BitSet(), null, null, null, new String[] { "a|b\r\nc" });
+
+        assertThat(strings.formatCell(0)).isEqualTo("a\\|b c");
+    }
+}
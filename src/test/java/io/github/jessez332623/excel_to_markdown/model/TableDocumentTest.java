@@ -0,0 +1,285 @@
+package io.github.jessez332623.excel_to_markdown.model;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TableDocumentTest
+{
+    /** 按 {@link TableDocument} 描述的格式写出列式编码（与 Python 服务的写法一致）。*/
+    private static final class Encoder
+    {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        Encoder raw(byte @NotNull ... data)
+        {
+            this.bytes.writeBytes(data);
+            return this;
+        }
+
+        Encoder u8(int value) {
+            return raw((byte) value);
+        }
+
+        Encoder u16(int value) {
+            return raw(ByteBuffer.allocate(2).order(ByteOrder.LITTLE_ENDIAN).putShort((short) value).array());
+        }
+
+        Encoder u32(int value) {
+            return raw(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(value).array());
+        }
+
+        Encoder i64(long value) {
+            return raw(ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(value).array());
+        }
+
+        Encoder f64(double value) {
+            return raw(ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putDouble(value).array());
+        }
+
+        Encoder str(@NotNull String text)
+        {
+            final byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+            return u32(utf8.length).raw(utf8);
+        }
+
+        /** STRING 列的值：偏移量数组 + UTF-8 数据（空单元格写空串）。*/
+        Encoder strings(String @NotNull ... values)
+        {
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+            u32(0);
+            for (String value : values)
+            {
+                data.writeBytes((value == null ? "" : value).getBytes(StandardCharsets.UTF_8));
+                u32(data.size());
+            }
+
+            return raw(data.toByteArray());
+        }
+
+        ByteBuffer buffer() {
+            return ByteBuffer.wrap(this.bytes.toByteArray());
+        }
+    }
+
+    /** 一个工作表、三行、四种类型各一列，第二行全部为空。*/
+    private static @NotNull Encoder
+    sampleDocument()
+    {
+        return
+        new Encoder()
+            .raw((byte) 'X', (byte) 'T', (byte) 'M', (byte) 'C').u16(1).u32(1)
+            .str("销售").u32(3).u32(4)
+            .str("名称").u8(0).u8(0b010).strings("苹果|红", null, "梨\n子")
+            .str("数量").u8(1).u8(0b010).i64(12L).i64(0L).i64(-3L)
+            .str("单价").u8(2).u8(0b010).f64(1.5).f64(0.0).f64(-0.25)
+            .str("在售").u8(3).u8(0b010).u8(1).u8(0).u8(0);
+    }
+
+    @Test
+    void decodesTypedColumns()
+    {
+        TableDocument document = TableDocument.decode(sampleDocument().buffer());
+
+        assertThat(document.sheets()).hasSize(1);
+
+        TableSheet sheet = document.sheets().get(0);
+
+        assertThat(sheet.name()).isEqualTo("销售");
+        assertThat(sheet.rowCount()).isEqualTo(3);
+        assertThat(sheet.columns()).extracting(TableColumn::getName)
+                                   .containsExactly("名称", "数量", "单价", "在售");
+
+        TableColumn names    = sheet.columns().get(0);
+        TableColumn amounts  = sheet.columns().get(1);
+        TableColumn prices   = sheet.columns().get(2);
+        TableColumn onSale   = sheet.columns().get(3);
+
+        assertThat(names.getString(0)).isEqualTo("苹果|红");
+        assertThat(names.getString(1)).isNull();
+        assertThat(names.getString(2)).isEqualTo("梨\n子");
+
+        assertThat(amounts.getLong(2)).isEqualTo(-3L);
+        assertThat(amounts.getDouble(0)).isEqualTo(12.0);
+        assertThat(prices.getDouble(2)).isEqualTo(-0.25);
+        assertThat(onSale.getBoolean(0)).isTrue();
+
+        assertThat(amounts.isNull(1)).isTrue();
+        assertThat(amounts.getValue(1)).isNull();
+        assertThat(amounts.getValue(0)).isEqualTo(12L);
+    }
+
+    @Test
+    void rendersMarkdownFromColumns()
+    {
+        String markdown = TableDocument.decode(sampleDocument().buffer()).toMarkdown();
+
+        assertThat(markdown).isEqualTo(
+            """
+            ## 销售
+            | 名称 | 数量 | 单价 | 在售 |
+            | --- | --- | --- | --- |
+            | 苹果\\|红 | 12 | 1.5 | True |
+            |  |  |  |  |
+            | 梨 子 | -3 | -0.25 | False |"""
+        );
+    }
+
+    /**
+     * Python 服务列式编码器写出的夹具（数据见 src/test/python/test_table_converter_service.py 的 fixture_workbook()，
+     * 修改编码格式后以 REGENERATE_FIXTURES=1 运行 Python 测试重新生成）。
+     */
+    private static @NotNull ByteBuffer
+    pythonEncodedFixture() throws IOException
+    {
+        try (InputStream fixture = TableDocumentTest.class.getResourceAsStream("python-columnar.xtmc"))
+        {
+            return ByteBuffer.wrap(Objects.requireNonNull(fixture, "python-columnar.xtmc").readAllBytes());
+        }
+    }
+
+    @Test
+    void decodesPythonEncodedFixture() throws IOException
+    {
+        TableDocument document = TableDocument.decode(pythonEncodedFixture());
+
+        assertThat(document.sheets()).extracting(TableSheet::name).containsExactly("销售", "空表");
+
+        TableSheet sales = document.sheets().get(0);
+
+        // 表头之前与数据行之间的空行被跳过，表头行尾的空单元格被去掉
+        assertThat(sales.rowCount()).isEqualTo(3);
+        assertThat(sales.columns()).extracting(TableColumn::getName)
+                                   .containsExactly("名称", "数量", "单价", "在售", "备注");
+        assertThat(sales.columns()).extracting(TableColumn::getType)
+                                   .containsExactly(
+                                       TableColumn.Type.STRING, TableColumn.Type.INT64, TableColumn.Type.DOUBLE,
+                                       TableColumn.Type.BOOLEAN, TableColumn.Type.STRING
+                                   );
+
+        TableColumn names   = sales.columns().get(0);
+        TableColumn amounts = sales.columns().get(1);
+        TableColumn prices  = sales.columns().get(2);
+        TableColumn onSale  = sales.columns().get(3);
+        TableColumn remarks = sales.columns().get(4);
+
+        assertThat(names.getString(0)).isEqualTo("苹果|红");
+        assertThat(names.getString(1)).isEqualTo("梨\n子");
+        assertThat(names.getString(2)).isEmpty();
+
+        assertThat(amounts.getLong(0)).isEqualTo(12L);
+        assertThat(amounts.getLong(1)).isEqualTo(-3L);
+        assertThat(amounts.isNull(2)).isTrue();
+
+        assertThat(prices.getDouble(0)).isEqualTo(1.5);
+        assertThat(prices.getDouble(1)).isEqualTo(2.0);
+        assertThat(prices.isNull(2)).isTrue();
+
+        assertThat(onSale.getBoolean(0)).isTrue();
+        assertThat(onSale.getBoolean(1)).isFalse();
+        assertThat(onSale.isNull(2)).isTrue();
+
+        // 超出 INT64 范围的整数按 STRING 保留完整的数字
+        assertThat(remarks.isNull(0)).isTrue();
+        assertThat(remarks.getString(1)).isEqualTo("100000000000000000000");
+        assertThat(remarks.getString(2)).isEqualTo("缺货");
+
+        TableSheet empty = document.sheets().get(1);
+
+        assertThat(empty.rowCount()).isZero();
+        assertThat(empty.columns()).isEmpty();
+    }
+
+    @Test
+    void rendersPythonEncodedFixture() throws IOException
+    {
+        String markdown = TableDocument.decode(pythonEncodedFixture()).toMarkdown();
+
+        assertThat(markdown).isEqualTo(
+            """
+            ## 销售
+            | 名称 | 数量 | 单价 | 在售 | 备注 |
+            | --- | --- | --- | --- | --- |
+            | 苹果\\|红 | 12 | 1.5 | True |  |
+            | 梨 子 | -3 | 2.0 | False | 100000000000000000000 |
+            |  |  |  |  | 缺货 |
+
+            ## 空表"""
+        );
+    }
+
+    @Test
+    void decodesFromBufferPosition()
+    {
+        byte[] encoded = sampleDocument().buffer().array();
+        byte[] padded  = new byte[encoded.length + 5];
+
+        System.arraycopy(encoded, 0, padded, 5, encoded.length);
+
+        ByteBuffer buffer = ByteBuffer.wrap(padded).position(5);
+
+        assertThat(TableDocument.decode(buffer).sheets().get(0).rowCount()).isEqualTo(3);
+        assertThat(buffer.position()).isEqualTo(5);
+    }
+
+    @Test
+    void rejectsBadMagic()
+    {
+        ByteBuffer buffer = new Encoder().raw((byte) 'X', (byte) 'L', (byte) 'S', (byte) 'X').u16(1).u32(0).buffer();
+
+        assertThatThrownBy(() -> TableDocument.decode(buffer))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("bad magic");
+    }
+
+    @Test
+    void rejectsUnknownVersion()
+    {
+        ByteBuffer buffer = new Encoder().raw((byte) 'X', (byte) 'T', (byte) 'M', (byte) 'C').u16(2).u32(0).buffer();
+
+        assertThatThrownBy(() -> TableDocument.decode(buffer))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("version: 2");
+    }
+
+    @Test
+    void rejectsTruncatedDocument()
+    {
+        byte[] encoded = sampleDocument().buffer().array();
+
+        for (int cut : new int[] { 3, 10, encoded.length / 2, encoded.length - 1 })
+        {
+            ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOf(encoded, cut));
+
+            assertThatThrownBy(() -> TableDocument.decode(buffer))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void rejectsHugeRowCountWithoutAllocating()
+    {
+        ByteBuffer buffer
+            = new Encoder()
+                .raw((byte) 'X', (byte) 'T', (byte) 'M', (byte) 'C').u16(1).u32(1)
+                .str("s").u32(Integer.MAX_VALUE).u32(1)
+                .str("c").u8(1)
+                .buffer();
+
+        assertThatThrownBy(() -> TableDocument.decode(buffer))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("truncated");
+    }
+}
@@ -0,0 +1,313 @@
+package io.github.jessez332623.excel_to_markdown.utils;
+
+import io.github.jessez332623.excel_to_markdown.ConvertServicePoolManager;
+import io.github.jessez332623.excel_to_markdown.exception.exports.ScriptWorkerException;
+import io.github.jessez332623.excel_to_markdown.model.ArchiveEntryResult;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArchiveConverterTest
+{
+    @TempDir
+    Path tempDir;
+
+    /**
+     * 替身服务池：把条目内容原样包进 Markdown，内容以 fail 开头时转换失败，
+     * 按内容里的数字休眠相应毫秒数，打乱条目的完成顺序，同时记录最大并发数。
+     */
+    private static final class StandInPool implements ConvertServicePoolManager
+    {
+        private final AtomicInteger running = new AtomicInteger(0);
+
+        private final AtomicInteger maxRunning = new AtomicInteger(0);
+
+        private final AtomicInteger converted = new AtomicInteger(0);
+
+        @Override
+        public String
+        convertTableToMarkdown(byte[] tableBytes, String fileName)
+        {
+            final String content = new String(tableBytes, StandardCharsets.UTF_8);
+
+            this.maxRunning.accumulateAndGet(this.running.incrementAndGet(), Math::max);
+
+            try
+            {
+                final String delayMillis = content.replaceAll("\\D", "");
+
+                Thread.sleep(delayMillis.isEmpty() ? 0L : Long.parseLong(delayMillis));
+
+                if (content.startsWith("fail")) {
+                    throw new ScriptWorkerException("Cannot convert " + fileName);
+                }
+
+                this.converted.incrementAndGet();
+
+                return "## " + fileName + "\n" + content;
+            }
+            catch (InterruptedException interrupted)
+            {
+                Thread.currentThread().interrupt();
+                throw new ScriptWorkerException("interrupted", interrupted);
+            }
+            finally {
+                this.running.decrementAndGet();
+            }
+        }
+    }
+
+    private final StandInPool pool = new StandInPool();
+
+    private static @NotNull TableContentValidator.Limits
+    limits(long maxFileSize, long maxExpandedSize, int maxEntries)
+    {
+        return new TableContentValidator.Limits(maxFileSize, maxExpandedSize, maxEntries, 200, 0L);
+    }
+
+    private static byte @NotNull []
+    zip(@NotNull Map<String, byte[]> entries)
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ZipOutputStream zip = new ZipOutputStream(bytes))
+        {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet())
+            {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue());
+                zip.closeEntry();
+            }
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static byte @NotNull []
+    text(@NotNull String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private @NotNull Path
+    write(byte @NotNull [] archive) throws IOException {
+        return Files.write(this.tempDir.resolve("reports.zip"), archive);
+    }
+
+    /** 以文件与输入流两种方式各转换一次，返回两份结果。*/
+    private @NotNull List<List<ArchiveEntryResult>>
+    convertBothWays(@NotNull ArchiveConverter converter, byte @NotNull [] archive) throws IOException
+    {
+        return List.of(
+            converter.convert(write(archive)),
+            converter.convert(new ByteArrayInputStream(archive))
+        );
+    }
+
+    @Test
+    void resultsFollowArchiveOrderAndSkipNonTables() throws IOException
+    {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+
+        // 越靠前的条目转换越慢，完成顺序与压缩包顺序相反
+        for (int index = 0; index < 6; ++index) {
+            entries.put(String.format("reports/r%d.csv", index), text("a\n" + (60 - index * 10)));
+        }
+
+        entries.put("reports/", new byte[0]);
+        entries.put("__MACOSX/reports/._r0.csv", text("resource fork"));
+        entries.put("reports/readme.txt", text("not a table"));
+
+        ArchiveConverter converter = new ArchiveConverter(this.pool, 3, limits(1L << 20, 1L << 20, 100));
+
+        for (List<ArchiveEntryResult> results : convertBothWays(converter, zip(entries)))
+        {
+            assertThat(results).extracting(ArchiveEntryResult::entryName)
+                               .containsExactly(
+                                   "reports/r0.csv", "reports/r1.csv", "reports/r2.csv",
+                                   "reports/r3.csv", "reports/r4.csv", "reports/r5.csv"
+                               );
+            assertThat(results).allMatch(ArchiveEntryResult::isSuccess);
+            assertThat(results.get(0).markdown()).isEqualTo("## r0.csv\na\n60");
+        }
+
+        assertThat(this.pool.maxRunning.get()).isBetween(1, 3);
+    }
+
+    @Test
+    void failedEntryIsRecordedWithoutAbortingOthers() throws IOException
+    {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+
+        entries.put("a.csv", text("ok"));
+        entries.put("b.csv", text("fail"));
+        entries.put("c.csv", text("ok"));
+
+        ArchiveConverter converter = new ArchiveConverter(this.pool, 2, limits(1L << 20, 1L << 20, 100));
+
+        for (List<ArchiveEntryResult> results : convertBothWays(converter, zip(entries)))
+        {
+            assertThat(results).extracting(ArchiveEntryResult::isSuccess).containsExactly(true, false, true);
+            assertThat(results.get(1).markdown()).isNull();
+            assertThat(results.get(1).error()).hasMessageContaining("Cannot convert b.csv");
+        }
+    }
+
+    @Test
+    void rejectsTooManyEntries() throws IOException
+    {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+
+        for (int index = 0; index < 4; ++index) {
+            entries.put("t" + index + ".csv", text("x"));
+        }
+
+        ArchiveConverter converter = new ArchiveConverter(this.pool, 2, limits(1L << 20, 1L << 20, 3));
+        byte[]           archive   = zip(entries);
+
+        assertThatThrownBy(() -> converter.convert(write(archive)))
+            .isInstanceOf(ScriptWorkerException.class)
+            .hasMessageContaining("too many entries");
+
+        assertThatThrownBy(() -> converter.convert(new ByteArrayInputStream(archive)))
+            .isInstanceOf(ScriptWorkerException.class)
+            .hasMessageContaining("too many entries");
+    }
+
+    @Test
+    void rejectsSuspiciousCompressionRatio() throws IOException
+    {
+        // 4 MB 的零字节压缩后只有几 KB，压缩比远超 200
+        byte[] archive
+            = zip(Map.of("bomb.csv", new byte[4 * 1024 * 1024]));
+
+        ArchiveConverter converter = new ArchiveConverter(this.pool, 2, limits(64L << 20, 64L << 20, 100));
+
+        assertThatThrownBy(() -> converter.convert(write(archive)))
+            .isInstanceOf(ScriptWorkerException.class)
+            .hasMessageContaining("suspicious compression ratio");
+
+        // 流式读取时压缩后的大小在读完条目后才知道，同样会被拒绝
+        assertThatThrownBy(() -> converter.convert(new ByteArrayInputStream(archive)))
+            .isInstanceOf(ScriptWorkerException.class)
+            .hasMessageContaining("suspicious compression ratio");
+
+        assertThat(this.pool.converted).hasValue(0);
+    }
+
+    @Test
+    void rejectsOversizedEntry() throws IOException
+    {
+        byte[] table = new byte[4096];
+        Arrays.fill(table, (byte) 'a');
+
+        byte[] archive = zip(Map.of("big.csv", table));
+
+        ArchiveConverter converter = new ArchiveConverter(this.pool, 2, limits(1024L, 1L << 20, 100));
+
+        assertThatThrownBy(() -> converter.convert(write(archive)))
+            .isInstanceOf(ScriptWorkerException.class)
+            .hasMessageContaining("too large");
+
+        assertThatThrownBy(() -> converter.convert(new ByteArrayInputStream(archive)))
+            .isInstanceOf(ScriptWorkerException.class)
+            .hasMessageContaining("too large");
+    }
+
+    @Test
+    void rejectsArchiveExpandingBeyondLimit() throws IOException
+    {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+
+        for (int index = 0; index < 3; ++index) {
+            entries.put("t" + index + ".csv", text("x".repeat(1500)));
+        }
+
+        ArchiveConverter converter = new ArchiveConverter(this.pool, 1, limits(1L << 20, 4000L, 100));
+        byte[]           archive   = zip(entries);
+
+        assertThatThrownBy(() -> converter.convert(write(archive)))
+            .isInstanceOf(ScriptWorkerException.class)
+            .hasMessageContaining("expands beyond 4000 bytes");
+
+        assertThatThrownBy(() -> converter.convert(new ByteArrayInputStream(archive)))
+            .isInstanceOf(ScriptWorkerException.class)
+            .hasMessageContaining("expands beyond 4000 bytes");
+    }
+
+    @Test
+    void skippedEntriesCountTowardsExpandedSizeOnlyWhenStreaming() throws IOException
+    {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+
+        entries.put("padding.bin", new byte[256 * 1024]);
+        entries.put("table.csv", text("a\n1"));
+
+        ArchiveConverter converter = new ArchiveConverter(this.pool, 1, limits(1L << 20, 64L * 1024, 100));
+        byte[]           archive   = zip(entries);
+
+        // ZipFile 随机访问，跳过的条目不用解压
+        assertThat(converter.convert(write(archive)))
+            .extracting(ArchiveEntryResult::entryName)
+            .containsExactly("table.csv");
+
+        // 流式读取必须解压跳过的条目，解压出的字节数同样受总大小限制
+        assertThatThrownBy(() -> converter.convert(new ByteArrayInputStream(archive)))
+            .isInstanceOf(ScriptWorkerException.class)
+            .hasMessageContaining("expands beyond");
+    }
+
+    @Test
+    void rejectsTruncatedArchive() throws IOException
+    {
+        byte[] archive   = zip(Map.of("t.csv", text("a\n1")));
+        byte[] truncated = Arrays.copyOf(archive, archive.length - 10);
+
+        ArchiveConverter converter = new ArchiveConverter(this.pool, 1, limits(1L << 20, 1L << 20, 100));
+
+        assertThatThrownBy(() -> converter.convert(write(truncated)))
+            .isInstanceOf(ScriptWorkerException.class)
+            .hasMessageContaining("truncated or corrupt");
+    }
+
+    @Test
+    void streamIsLeftOpen() throws IOException
+    {
+        byte[] archive = zip(Map.of("t.csv", text("a\n1")));
+
+        final boolean[] closed = { false };
+
+        ByteArrayInputStream stream
+            = new ByteArrayInputStream(archive)
+            {
+                @Override
+                public void close() {
+                    closed[0] = true;
+                }
+            };
+
+        new ArchiveConverter(this.pool, 1, limits(1L << 20, 1L << 20, 100)).convert(stream);
+
+        assertThat(closed[0]).isFalse();
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.jessez332623.excel_to_markdown.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContainerResourcesTest
+{
+    @Test
+    void parsesFractionalQuota() {
+        assertThat(ContainerResources.parseCpuMax("150000 100000\n", 8)).isEqualTo(1.5);
+    }
+
+    @Test
+    void unlimitedQuotaFallsBackToProcessors() {
+        assertThat(ContainerResources.parseCpuMax("max 100000", 8)).isEqualTo(8.0);
+    }
+
+    @Test
+    void quotaIsCappedByProcessors() {
+        assertThat(ContainerResources.parseCpuMax("1600000 100000", 4)).isEqualTo(4.0);
+    }
+
+    @Test
+    void malformedQuotaFallsBackToProcessors()
+    {
+        assertThat(ContainerResources.parseCpuMax("lots 100000", 2)).isEqualTo(2.0);
+        assertThat(ContainerResources.parseCpuMax("100000", 2)).isEqualTo(2.0);
+        assertThat(ContainerResources.parseCpuMax("100000 0", 2)).isEqualTo(2.0);
+    }
+
+    @Test
+    void parsesCpuRangesAndSingles()
+    {
+        assertThat(ContainerResources.parseCpuList("0-3,6,8-9\n"))
+            .containsExactly(0, 1, 2, 3, 6, 8, 9);
+    }
+
+    @Test
+    void parsesSingleCpuAndIgnoresBlankRanges()
+    {
+        assertThat(ContainerResources.parseCpuList("5")).containsExactly(5);
+        assertThat(ContainerResources.parseCpuList("1,,2")).containsExactly(1, 2);
+        assertThat(ContainerResources.parseCpuList("")).isEmpty();
+    }
+
+    @Test
+    void rejectsMalformedCpuList()
+    {
+        assertThatThrownBy(() -> ContainerResources.parseCpuList("0-x"))
+            .isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void dedicatedCpusOnlyWhenCpusetIsNarrowerThanHost()
+    {
+        assertThat(ContainerResources.dedicatedCpus("2-3\n", "0-7\n")).containsExactly(2, 3);
+
+        // 覆盖整个宿主机（普通 Pod）时不逐个绑定
+        assertThat(ContainerResources.dedicatedCpus("0-7", "0-7")).isEmpty();
+    }
+
+    @Test
+    void unreadableOrMalformedCpusetsAreNotDedicated()
+    {
+        assertThat(ContainerResources.dedicatedCpus(null, "0-7")).isEmpty();
+        assertThat(ContainerResources.dedicatedCpus("0-1", null)).isEmpty();
+        assertThat(ContainerResources.dedicatedCpus("0-x", "0-7")).isEmpty();
+    }
+}
@@ -0,0 +1,335 @@
+package io.github.jessez332623.excel_to_markdown.utils;
+
+import io.github.jessez332623.excel_to_markdown.ConvertServicePoolManager;
+import io.github.jessez332623.excel_to_markdown.exception.exports.ScriptWorkerException;
+import io.github.jessez332623.excel_to_markdown.model.ConvertOptions;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IncrementalConverterTest
+{
+    @TempDir
+    Path tempDir;
+
+    /**
+     * 一份工作簿的内容：共享字符串表（顺序即下标）与各工作表引用的共享字符串下标（每个下标占一行）。
+     */
+    private record Workbook(List<String> sharedStrings, LinkedHashMap<String, int[]> sheets)
+    {
+        /** 某个工作表渲染出的 Markdown（与 Python 服务的输出形式一致）。*/
+        String render(String sheetName)
+        {
+            StringBuilder markdown = new StringBuilder("## ").append(sheetName).append("\n| value |\n| --- |");
+
+            for (int index : this.sheets.get(sheetName)) {
+                markdown.append("\n| ").append(this.sharedStrings.get(index)).append(" |");
+            }
+
+            return markdown.toString();
+        }
+
+        String renderAll(Set<String> selected)
+        {
+            return
+            this.sheets.keySet().stream()
+                       .filter((name) -> selected.isEmpty() || selected.contains(name))
+                       .map(this::render)
+                       .collect(Collectors.joining("\n\n"));
+        }
+    }
+
+    /**
+     * 替身服务池：按当前工作簿的内容渲染被选中的工作表，记录每次被请求转换的工作表。
+     * dropHeadings 为 true 时输出不带工作表标题（模拟无法按标题拆分的结果），failing 为 true 时转换失败。
+     */
+    private static final class StandInPool implements ConvertServicePoolManager
+    {
+        Workbook workbook;
+
+        boolean dropHeadings = false;
+
+        boolean failing = false;
+
+        final List<Set<String>> requestedSheets = new ArrayList<>();
+
+        int fullConversions = 0;
+
+        @Override
+        public String
+        convertTableToMarkdown(Path tablePath)
+        {
+            ++this.fullConversions;
+            return this.workbook.renderAll(Set.of());
+        }
+
+        @Override
+        public String
+        convertTableToMarkdown(Path tablePath, ConvertOptions options)
+        {
+            if (this.failing) {
+                throw new ScriptWorkerException("Python script encountered an error during execution");
+            }
+
+            this.requestedSheets.add(Set.copyOf(options.getSheetNames()));
+
+            final String markdown = this.workbook.renderAll(options.getSheetNames());
+
+            return this.dropHeadings ? markdown.replaceAll("(?m)^## .*\\n", "") : markdown;
+        }
+    }
+
+    private final StandInPool pool = new StandInPool();
+
+    private static @NotNull Workbook
+    workbook(@NotNull List<String> sharedStrings, @NotNull Object... sheets)
+    {
+        LinkedHashMap<String, int[]> sheetCells = new LinkedHashMap<>();
+
+        for (int index = 0; index < sheets.length; index += 2) {
+            sheetCells.put((String) sheets[index], (int[]) sheets[index + 1]);
+        }
+
+        return new Workbook(sharedStrings, sheetCells);
+    }
+
+    /** 按 OOXML 的结构写出一份最小的 .xlsx，并让替身服务池使用该工作簿的内容。*/
+    private @NotNull Path
+    upload(@NotNull Workbook workbook) throws IOException
+    {
+        this.pool.workbook = workbook;
+
+        StringBuilder sheetList     = new StringBuilder();
+        StringBuilder relationships = new StringBuilder();
+
+        Map<String, String> parts = new LinkedHashMap<>();
+
+        int sheetIndex = 0;
+
+        for (Map.Entry<String, int[]> sheet : workbook.sheets().entrySet())
+        {
+            ++sheetIndex;
+
+            sheetList.append(String.format(
+                "<sheet name=\"%s\" sheetId=\"%d\" r:id=\"rId%d\"/>", sheet.getKey(), sheetIndex, sheetIndex
+            ));
+            relationships.append(String.format(
+                "<Relationship Id=\"rId%d\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet%d.xml\"/>",
+                sheetIndex, sheetIndex
+            ));
+
+            StringBuilder rows = new StringBuilder();
+            int           row  = 0;
+
+            for (int sharedIndex : sheet.getValue())
+            {
+                ++row;
+                rows.append(String.format(
+                    "<row r=\"%d\"><c r=\"A%d\" t=\"s\"><v>%d</v></c></row>", row, row, sharedIndex
+                ));
+            }
+
+            parts.put(
+                "xl/worksheets/sheet" + sheetIndex + ".xml",
+                "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>"
+                    + rows + "</sheetData></worksheet>"
+            );
+        }
+
+        parts.put("[Content_Types].xml", "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\"/>");
+        parts.put(
+            "xl/workbook.xml",
+            "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" "
+                + "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+                + "<sheets>" + sheetList + "</sheets></workbook>"
+        );
+        parts.put(
+            "xl/_rels/workbook.xml.rels",
+            "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + relationships + "</Relationships>"
+        );
+        parts.put(
+            "xl/sharedStrings.xml",
+            "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+                + workbook.sharedStrings().stream().map((text) -> "<si><t>" + text + "</t></si>").collect(Collectors.joining())
+                + "</sst>"
+        );
+        parts.put("xl/styles.xml", "<styleSheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"/>");
+
+        Path table = this.tempDir.resolve("report.xlsx");
+
+        try (OutputStream file = Files.newOutputStream(table);
+             ZipOutputStream zip = new ZipOutputStream(file))
+        {
+            for (Map.Entry<String, String> part : parts.entrySet())
+            {
+                zip.putNextEntry(new ZipEntry(part.getKey()));
+                zip.write(part.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+
+        return table;
+    }
+
+    @Test
+    void unchangedWorkbookIsServedFromCache() throws IOException
+    {
+        IncrementalConverter converter = new IncrementalConverter(1_000_000L);
+
+        Path table
+            = upload(workbook(List.of("alpha", "beta"), "汇总", new int[] { 0 }, "明细", new int[] { 1, 0 }));
+
+        final String first = converter.convert(this.pool, table);
+
+        assertThat(first).isEqualTo(this.pool.convertTableToMarkdown(table));
+        assertThat(this.pool.requestedSheets).containsExactly(Set.of("汇总", "明细"));
+        assertThat(converter.getCachedSheetCount()).isEqualTo(2);
+
+        assertThat(converter.convert(this.pool, table)).isEqualTo(first);
+        assertThat(this.pool.requestedSheets).hasSize(1);
+    }
+
+    @Test
+    void reorderedSharedStringsDoNotInvalidateUntouchedSheet() throws IOException
+    {
+        IncrementalConverter converter = new IncrementalConverter(1_000_000L);
+
+        converter.convert(
+            this.pool,
+            upload(workbook(List.of("alpha", "beta"), "汇总", new int[] { 0 }, "明细", new int[] { 1 }))
+        );
+
+        // 编辑明细后 Excel 重写了共享字符串表，汇总引用的 alpha 从下标 0 移到了下标 1
+        Path revised
+            = upload(workbook(List.of("gamma", "alpha"), "汇总", new int[] { 1 }, "明细", new int[] { 0 }));
+
+        final String markdown = converter.convert(this.pool, revised);
+
+        assertThat(this.pool.requestedSheets).last().isEqualTo(Set.of("明细"));
+        assertThat(markdown).isEqualTo(this.pool.convertTableToMarkdown(revised));
+        assertThat(markdown).contains("| alpha |").contains("| gamma |").doesNotContain("beta");
+    }
+
+    @Test
+    void editedSharedStringInvalidatesReferencingSheet() throws IOException
+    {
+        IncrementalConverter converter = new IncrementalConverter(1_000_000L);
+
+        converter.convert(
+            this.pool,
+            upload(workbook(List.of("alpha", "beta"), "汇总", new int[] { 0 }, "明细", new int[] { 1 }))
+        );
+
+        // 下标不变，但汇总引用的字符串内容变了
+        Path revised
+            = upload(workbook(List.of("ALPHA", "beta"), "汇总", new int[] { 0 }, "明细", new int[] { 1 }));
+
+        assertThat(converter.convert(this.pool, revised)).isEqualTo(this.pool.convertTableToMarkdown(revised));
+        assertThat(this.pool.requestedSheets).last().isEqualTo(Set.of("汇总"));
+    }
+
+    @Test
+    void leastRecentlyUsedSheetsAreEvictedByCharacterCount() throws IOException
+    {
+        Workbook workbook
+            = workbook(List.of("aaaa", "bbbb", "cccc"), "s1", new int[] { 0 }, "s2", new int[] { 1 }, "s3", new int[] { 2 });
+
+        final int sheetChars = workbook.render("s1").length();
+
+        // 只放得下两个工作表
+        IncrementalConverter converter = new IncrementalConverter(sheetChars * 2L + sheetChars / 2);
+
+        Path table = upload(workbook);
+
+        converter.convert(this.pool, table);
+
+        assertThat(converter.getCachedSheetCount()).isEqualTo(2);
+
+        // s1 最先存入，已被淘汰；重新存入 s1 时淘汰最久未使用的 s2
+        converter.convert(this.pool, table);
+        assertThat(this.pool.requestedSheets).last().isEqualTo(Set.of("s1"));
+
+        converter.convert(this.pool, table);
+        assertThat(this.pool.requestedSheets).last().isEqualTo(Set.of("s2"));
+        assertThat(converter.getCachedSheetCount()).isEqualTo(2);
+    }
+
+    @Test
+    void sheetLargerThanCacheIsNotCached() throws IOException
+    {
+        IncrementalConverter converter = new IncrementalConverter(10L);
+
+        Path table = upload(workbook(List.of("alpha"), "s1", new int[] { 0 }));
+
+        assertThat(converter.convert(this.pool, table)).isEqualTo(this.pool.convertTableToMarkdown(table));
+        assertThat(converter.getCachedSheetCount()).isZero();
+    }
+
+    @Test
+    void missingHeadingFallsBackToFullConversion() throws IOException
+    {
+        IncrementalConverter converter = new IncrementalConverter(1_000_000L);
+
+        Path table
+            = upload(workbook(List.of("alpha", "beta"), "s1", new int[] { 0 }, "s2", new int[] { 1 }));
+
+        this.pool.dropHeadings = true;
+
+        assertThat(converter.convert(this.pool, table)).isEqualTo(this.pool.workbook.renderAll(Set.of()));
+        assertThat(this.pool.fullConversions).isEqualTo(1);
+        assertThat(converter.getCachedSheetCount()).isZero();
+    }
+
+    @Test
+    void failedConversionIsNotCached() throws IOException
+    {
+        IncrementalConverter converter = new IncrementalConverter(1_000_000L);
+
+        Path table = upload(workbook(List.of("alpha"), "s1", new int[] { 0 }));
+
+        this.pool.failing = true;
+
+        assertThatThrownBy(() -> converter.convert(this.pool, table))
+            .isInstanceOf(ScriptWorkerException.class);
+        assertThat(converter.getCachedSheetCount()).isZero();
+
+        this.pool.failing = false;
+
+        converter.convert(this.pool, table);
+        assertThat(this.pool.requestedSheets).containsExactly(Set.of("s1"));
+    }
+
+    @Test
+    void otherFormatsUseFullConversion() throws IOException
+    {
+        IncrementalConverter converter = new IncrementalConverter(1_000_000L);
+
+        this.pool.workbook = workbook(List.of("alpha"), "s1", new int[] { 0 });
+
+        Path csv = Files.writeString(this.tempDir.resolve("data.csv"), "value\nalpha\n");
+
+        converter.convert(this.pool, csv);
+
+        assertThat(this.pool.fullConversions).isEqualTo(1);
+        assertThat(this.pool.requestedSheets).isEmpty();
+        assertThat(converter.getCachedSheetCount()).isZero();
+    }
+}
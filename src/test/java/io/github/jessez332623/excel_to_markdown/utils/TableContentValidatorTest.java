@@ -0,0 +1,194 @@
+package io.github.jessez332623.excel_to_markdown.utils;
+
+import io.github.jessez332623.excel_to_markdown.exception.InvalidTableContent;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TableContentValidatorTest
+{
+    @TempDir
+    Path tempDir;
+
+    private final TableContentValidator validator
+        = new TableContentValidator(new TableContentValidator.Limits(
+            10L * 1024 * 1024, 64L * 1024 * 1024, 100, 50, 10_000L
+        ));
+
+    /** 生成只包含必需部件与一个工作表的最小 xlsx。*/
+    private static @NotNull Map<String, byte[]>
+    minimalWorkbook(@NotNull String dimension)
+    {
+        Map<String, byte[]> parts = new LinkedHashMap<>();
+
+        parts.put("[Content_Types].xml", "<Types/>".getBytes(StandardCharsets.UTF_8));
+        parts.put("xl/workbook.xml", "<workbook/>".getBytes(StandardCharsets.UTF_8));
+        parts.put(
+            "xl/worksheets/sheet1.xml",
+            String.format("<worksheet><dimension ref=\"%s\"/><sheetData/></worksheet>", dimension)
+                  .getBytes(StandardCharsets.UTF_8)
+        );
+
+        return parts;
+    }
+
+    private @NotNull Path
+    writeZip(@NotNull String fileName, @NotNull Map<String, byte[]> parts) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ZipOutputStream zip = new ZipOutputStream(bytes))
+        {
+            for (Map.Entry<String, byte[]> part : parts.entrySet())
+            {
+                zip.putNextEntry(new ZipEntry(part.getKey()));
+                zip.write(part.getValue());
+                zip.closeEntry();
+            }
+        }
+
+        return Files.write(this.tempDir.resolve(fileName), bytes.toByteArray());
+    }
+
+    @Test
+    void acceptsMinimalWorkbook() throws IOException
+    {
+        Path table = writeZip("ok.xlsx", minimalWorkbook("A1:C10"));
+
+        assertThatCode(() -> validator.validate(table)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectsPdfRenamedToXlsx() throws IOException
+    {
+        Path table
+            = Files.write(this.tempDir.resolve("report.xlsx"), "%PDF-1.7\n...".getBytes(StandardCharsets.US_ASCII));
+
+        assertThatThrownBy(() -> validator.validate(table))
+            .isInstanceOf(InvalidTableContent.class)
+            .hasMessageContaining("expect OOXML (ZIP) but got PDF");
+    }
+
+    @Test
+    void rejectsZipRenamedToXls() throws IOException
+    {
+        Path xlsx  = writeZip("book.xlsx", minimalWorkbook("A1"));
+        Path table = Files.copy(xlsx, this.tempDir.resolve("book.xls"));
+
+        assertThatThrownBy(() -> validator.validate(table))
+            .isInstanceOf(InvalidTableContent.class)
+            .hasMessageContaining("expect OLE2 but got ZIP");
+    }
+
+    @Test
+    void rejectsBinaryCsv() throws IOException
+    {
+        Path table
+            = Files.write(this.tempDir.resolve("data.csv"), new byte[] { 'a', ',', 0, 'b' });
+
+        assertThatThrownBy(() -> validator.validate(table))
+            .isInstanceOf(InvalidTableContent.class)
+            .hasMessageContaining("binary content");
+    }
+
+    @Test
+    void rejectsTruncatedWorkbook() throws IOException
+    {
+        Path   complete = writeZip("full.xlsx", minimalWorkbook("A1"));
+        byte[] bytes    = Files.readAllBytes(complete);
+
+        Path table
+            = Files.write(this.tempDir.resolve("cut.xlsx"), Arrays.copyOf(bytes, bytes.length - 30));
+
+        assertThatThrownBy(() -> validator.validate(table))
+            .isInstanceOf(InvalidTableContent.class)
+            .hasMessageContaining("truncated or corrupt");
+    }
+
+    @Test
+    void rejectsMissingWorkbookPart() throws IOException
+    {
+        Map<String, byte[]> parts = minimalWorkbook("A1");
+        parts.remove("xl/workbook.xml");
+
+        Path table = writeZip("noworkbook.xlsx", parts);
+
+        assertThatThrownBy(() -> validator.validate(table))
+            .isInstanceOf(InvalidTableContent.class)
+            .hasMessageContaining("missing required part xl/workbook.xml");
+    }
+
+    @Test
+    void rejectsZipBombByCompressionRatio() throws IOException
+    {
+        Map<String, byte[]> parts = minimalWorkbook("A1");
+
+        // 4 MB 的零字节压缩后只有几 KB，压缩比远超 50
+        parts.put("xl/media/padding.bin", new byte[4 * 1024 * 1024]);
+
+        Path table = writeZip("bomb.xlsx", parts);
+
+        assertThatThrownBy(() -> validator.validate(table))
+            .isInstanceOf(InvalidTableContent.class)
+            .hasMessageContaining("suspicious compression ratio");
+    }
+
+    @Test
+    void rejectsTooManyParts() throws IOException
+    {
+        Map<String, byte[]> parts = minimalWorkbook("A1");
+
+        for (int index = 0; index < 100; ++index) {
+            parts.put("xl/media/image" + index + ".png", new byte[] { 1 });
+        }
+
+        Path table = writeZip("parts.xlsx", parts);
+
+        assertThatThrownBy(() -> validator.validate(table))
+            .isInstanceOf(InvalidTableContent.class)
+            .hasMessageContaining("too many parts");
+    }
+
+    @Test
+    void rejectsDeclaredCellsOverLimit() throws IOException
+    {
+        // 26 列 * 1000 行 = 26000 个单元格，超过 10000 的上限
+        Path table = writeZip("wide.xlsx", minimalWorkbook("A1:Z1000"));
+
+        assertThatThrownBy(() -> validator.validate(table))
+            .isInstanceOf(InvalidTableContent.class)
+            .hasMessageContaining("too many cells");
+    }
+
+    @Test
+    void countsCellsAcrossSheets() throws IOException
+    {
+        Map<String, byte[]> parts = minimalWorkbook("A1:J600");
+
+        parts.put(
+            "xl/worksheets/sheet2.xml",
+            "<worksheet><dimension ref=\"A1:J600\"/></worksheet>".getBytes(StandardCharsets.UTF_8)
+        );
+
+        // 单个工作表 6000 个单元格未超限，两个合计 12000 超限
+        Path table = writeZip("two.xlsx", parts);
+
+        assertThatThrownBy(() -> validator.validate(table))
+            .isInstanceOf(InvalidTableContent.class)
+            .hasMessageContaining("too many cells");
+    }
+}
@@ -0,0 +1,385 @@
+# table_converter_service.py 的单元测试（快速路径渲染、带选项的预览转换、列式编码）
+#
+# 运行：python3 -m unittest discover -s src/test/python -v
+# 或者：mvn -Ppython-tests test
+#
+# 环境中没有安装 pandas / markitdown 时以替身模块代替（被测函数只经由 mock 使用它们），
+# 没有安装 openpyxl 时快速路径的工作簿同样以替身对象代替。
+# 列式编码的测试把编码结果与 Java 侧解码测试使用的夹具逐字节比较，
+# 修改编码格式后以 REGENERATE_FIXTURES=1 重新运行本测试即可更新夹具。
+
+import os
+import io
+import sys
+import types
+import struct
+import tempfile
+import unittest
+import importlib.util
+
+from pathlib import Path
+from unittest import mock
+
+PROJECT_ROOT = Path(__file__).resolve().parents[3]
+SCRIPT_PATH  = PROJECT_ROOT / "src/main/resources/py-scripts/table_converter_service.py"
+FIXTURE_PATH = PROJECT_ROOT / "src/test/resources/io/github/jessez332623/excel_to_markdown/model/python-columnar.xtmc"
+
+def install_stand_ins():
+    """为没有安装的 pandas / markitdown 注册替身模块，只满足脚本导入时的需要。"""
+    try:
+        import pandas  # noqa: F401
+    except ImportError:
+        pandas = types.ModuleType("pandas")
+        pandas.ExcelFile = None
+        pandas.read_csv  = None
+        sys.modules["pandas"] = pandas
+
+    try:
+        import markitdown  # noqa: F401
+    except ImportError:
+        class MarkItDown:
+            def convert(self, table_path):
+                raise AssertionError("markitdown stand-in must not be called")
+
+        class HtmlConverter:
+            def convert_string(self, html_content):
+                raise AssertionError("markitdown stand-in must not be called")
+
+        markitdown = types.ModuleType("markitdown")
+        converters = types.ModuleType("markitdown.converters")
+
+        markitdown.MarkItDown    = MarkItDown
+        markitdown.converters    = converters
+        converters.HtmlConverter = HtmlConverter
+
+        sys.modules["markitdown"]            = markitdown
+        sys.modules["markitdown.converters"] = converters
+
+def load_service():
+    """导入服务脚本（不进入读取标准输入的主循环）。"""
+    install_stand_ins()
+
+    spec   = importlib.util.spec_from_file_location("table_converter_service", SCRIPT_PATH)
+    module = importlib.util.module_from_spec(spec)
+
+    # 脚本导入时会把标准输出 / 标准错误重新包装成 UTF-8，测试结束后还原，
+    # 并解除包装（否则包装对象被回收时会关闭底层的缓冲区）
+    stdout, stderr = sys.stdout, sys.stderr
+    try:
+        spec.loader.exec_module(module)
+    finally:
+        for wrapper in (sys.stdout, sys.stderr):
+            if wrapper is not stdout and wrapper is not stderr:
+                wrapper.detach()
+        sys.stdout, sys.stderr = stdout, stderr
+
+    return module
+
+service = load_service()
+
+class FakeWorksheet:
+    """openpyxl 只读工作表的替身：iter_rows(values_only=True) 逐行产出元组。"""
+    def __init__(self, rows):
+        self.rows = [tuple(row) for row in rows]
+
+    def iter_rows(self, values_only=False):
+        assert values_only
+        return iter(self.rows)
+
+class FakeWorkbook:
+    """openpyxl 只读工作簿的替身。"""
+    def __init__(self, sheets):
+        self.sheets = dict(sheets)
+        self.closed = False
+
+    @property
+    def sheetnames(self):
+        return list(self.sheets)
+
+    def __getitem__(self, sheet_name):
+        return FakeWorksheet(self.sheets[sheet_name])
+
+    def close(self):
+        self.closed = True
+
+def fixture_workbook():
+    """列式编码夹具的数据来源，TableDocumentTest 按同样的内容断言解码结果。"""
+    return FakeWorkbook({
+        "销售": [
+            (None, None, None, None, None, None),
+            ("名称", "数量", "单价", "在售", "备注", None),
+            ("苹果|红", 12, 1.5, True, None, None),
+            (None, None, None, None, None, None),
+            ("梨\n子", -3, 2, False, 10 ** 20, None),
+            ("", None, None, None, "缺货", None),
+        ],
+        "空表": [],
+    })
+
+class FastPathMarkdownTest(unittest.TestCase):
+
+    def render(self, sheets, options=None):
+        workbook = FakeWorkbook(sheets)
+        options  = options or {}
+
+        sheet_names = service.select_sheets(workbook.sheetnames, options)
+        max_rows    = int(options.get("maxRows") or 0)
+
+        return "\n".join(service.iter_workbook_markdown(workbook, sheet_names, max_rows))
+
+    def test_escapes_pipes_and_folds_line_breaks(self):
+        markdown = self.render({
+            "Sheet1": [
+                ("a|b", "c"),
+                ("x|y|z", "line1\nline2\r\nline3\rline4"),
+            ],
+        })
+
+        self.assertEqual(
+            markdown,
+            "## Sheet1\n"
+            "| a\\|b | c |\n"
+            "| --- | --- |\n"
+            "| x\\|y\\|z | line1 line2 line3 line4 |"
+        )
+
+    def test_formats_floats_like_python_str(self):
+        markdown = self.render({
+            "数值": [
+                ("整数", "小数"),
+                (1, 1.0),
+                (-7, 0.1 + 0.2),
+                (10 ** 20, 1e16),
+                (0, 1.5e-07),
+                (None, -0.0),
+            ],
+        })
+
+        self.assertEqual(
+            markdown,
+            "## 数值\n"
+            "| 整数 | 小数 |\n"
+            "| --- | --- |\n"
+            "| 1 | 1.0 |\n"
+            "| -7 | 0.30000000000000004 |\n"
+            "| 100000000000000000000 | 1e+16 |\n"
+            "| 0 | 1.5e-07 |\n"
+            "|  | -0.0 |"
+        )
+
+    def test_formats_booleans_and_other_values_with_str(self):
+        self.assertEqual(service.format_cell(True), "True")
+        self.assertEqual(service.format_cell(False), "False")
+        self.assertEqual(service.format_cell(None), "")
+        self.assertEqual(service.format_cell(""), "")
+
+    def test_empty_sheets_keep_only_their_heading(self):
+        markdown = self.render({
+            "空表": [],
+            "全空": [(None, None), ("", None)],
+            "数据": [("a",), (1,)],
+        })
+
+        self.assertEqual(
+            markdown,
+            "## 空表\n"
+            "\n"
+            "## 全空\n"
+            "\n"
+            "## 数据\n"
+            "| a |\n"
+            "| --- |\n"
+            "| 1 |"
+        )
+
+    def test_skips_empty_rows_and_pads_to_the_widest_row(self):
+        markdown = self.render({
+            "Sheet1": [
+                (None, None, None, None),
+                ("a", "b", None, None),
+                (1, None, None, None),
+                (None, None, None, None),
+                (2, 3, 4, None),
+            ],
+        })
+
+        self.assertEqual(
+            markdown,
+            "## Sheet1\n"
+            "| a | b |  |\n"
+            "| --- | --- | --- |\n"
+            "| 1 |  |  |\n"
+            "| 2 | 3 | 4 |"
+        )
+
+    def test_applies_sheet_selection_and_row_limit(self):
+        markdown = self.render(
+            {
+                "A": [("h",), (1,), (2,), (3,)],
+                "B": [("h",), (4,)],
+                "C": [("h",), (5,), (6,)],
+            },
+            {"sheets": ["C"], "sheetIndexes": [0], "maxRows": 1}
+        )
+
+        self.assertEqual(
+            markdown,
+            "## A\n| h |\n| --- |\n| 1 |\n"
+            "\n"
+            "## C\n| h |\n| --- |\n| 5 |"
+        )
+
+    def test_convert_fast_writes_destination_and_reports_metadata(self):
+        workbook = FakeWorkbook({"S1": [("a",), ("é",)], "S2": [("b",), (1.25,)]})
+
+        with tempfile.TemporaryDirectory() as directory:
+            output_path = os.path.join(directory, "out.md")
+
+            sheets, output_bytes = service.convert_fast(workbook, output_path, False, {})
+
+            with open(output_path, "rb") as output:
+                data = output.read()
+
+        expected = "## S1\n| a |\n| --- |\n| é |\n\n## S2\n| b |\n| --- |\n| 1.25 |".encode("utf-8")
+
+        self.assertEqual(data, expected)
+        self.assertEqual((sheets, output_bytes), (2, len(expected)))
+
+    def test_convert_fast_writes_shared_output_through_mmap(self):
+        workbook = FakeWorkbook({"S1": [("a",), ("b",)]})
+
+        with tempfile.TemporaryDirectory() as directory:
+            output_path = os.path.join(directory, "shared.out")
+            Path(output_path).write_bytes(b"")
+
+            sheets, output_bytes = service.convert_fast(workbook, output_path, True, {})
+
+            data = Path(output_path).read_bytes()
+
+        self.assertEqual(data, b"## S1\n| a |\n| --- |\n| b |")
+        self.assertEqual((sheets, output_bytes), (1, len(data)))
+
+class PreviewConversionTest(unittest.TestCase):
+
+    def write_csv(self, directory, content):
+        table_path = os.path.join(directory, "table.csv")
+        with open(table_path, "wb") as table:
+            table.write(content.encode("utf-8"))
+        return table_path
+
+    def test_csv_preview_reads_header_and_limited_rows(self):
+        with tempfile.TemporaryDirectory() as directory:
+            table_path = self.write_csv(directory, "\ufeff名称,数量\n苹果,1\n梨\n桃,3,多余\n李,4\n")
+
+            markdown = service.convert_with_options(table_path, {"maxRows": 3})
+
+        self.assertEqual(
+            markdown,
+            "| 名称 | 数量 |\n"
+            "| --- | --- |\n"
+            "| 苹果 | 1 |\n"
+            "| 梨 |  |\n"
+            "| 桃 | 3 |"
+        )
+
+    def test_csv_preview_without_limit_reads_all_rows(self):
+        with tempfile.TemporaryDirectory() as directory:
+            table_path = self.write_csv(directory, "a\n1\n2\n")
+
+            markdown = service.convert_with_options(table_path, {"maxRows": 0})
+
+        self.assertEqual(markdown, "| a |\n| --- |\n| 1 |\n| 2 |")
+
+    def test_empty_csv_preview_is_empty(self):
+        with tempfile.TemporaryDirectory() as directory:
+            table_path = self.write_csv(directory, "")
+
+            self.assertEqual(service.convert_with_options(table_path, {"maxRows": 5}), "")
+
+    def test_workbook_preview_parses_only_selected_sheets_with_row_limit(self):
+        parsed = []
+
+        class FakeExcelFile:
+            sheet_names = ["A", "B", "C"]
+
+            def __init__(self, table_path):
+                self.table_path = table_path
+
+            def __enter__(self):
+                return self
+
+            def __exit__(self, *exc_info):
+                return False
+
+            def parse(self, sheet_name, nrows=None):
+                parsed.append((sheet_name, nrows))
+                return sheet_name
+
+        def render(data_frame):
+            return f"| {data_frame} |\n| --- |"
+
+        with mock.patch.object(service.pd, "ExcelFile", FakeExcelFile), \
+             mock.patch.object(service, "render_data_frame", render):
+            markdown = service.convert_with_options("book.xlsx", {"sheetIndexes": [2, 0], "maxRows": 10})
+            unlimited = service.convert_with_options("book.xlsx", {"sheets": ["B"]})
+
+        self.assertEqual(parsed, [("A", 10), ("C", 10), ("B", None)])
+        self.assertEqual(markdown, "## A\n| A |\n| --- |\n\n## C\n| C |\n| --- |")
+        self.assertEqual(unlimited, "## B\n| B |\n| --- |")
+
+class ColumnarEncoderTest(unittest.TestCase):
+
+    def encode(self, workbook, options=None):
+        with mock.patch.object(service, "open_fast_workbook", return_value=workbook), \
+             tempfile.TemporaryDirectory() as directory:
+            output_path = os.path.join(directory, "out.xtmc")
+
+            sheets, output_bytes = service.convert_columnar("book.xlsx", output_path, options or {})
+            data = Path(output_path).read_bytes()
+
+        self.assertEqual(output_bytes, len(data))
+        self.assertTrue(workbook.closed)
+        return sheets, data
+
+    def test_header_carries_the_backfilled_sheet_count(self):
+        sheets, data = self.encode(FakeWorkbook({"A": [("h",), (1,)], "B": [], "C": [("h",)]}), {"sheetIndexes": [0, 1]})
+
+        self.assertEqual(sheets, 2)
+        self.assertEqual(data[:4], b"XTMC")
+        self.assertEqual(struct.unpack_from("<HI", data, 4), (1, 2))
+
+    def test_infers_column_types(self):
+        infer = service.infer_column_type
+
+        self.assertEqual(infer([1, None, -2]), service.COLUMN_INT64)
+        self.assertEqual(infer([1, 2.5]), service.COLUMN_DOUBLE)
+        self.assertEqual(infer([True, None, False]), service.COLUMN_BOOLEAN)
+        self.assertEqual(infer([True, 1]), service.COLUMN_STRING)
+        self.assertEqual(infer([1, "x"]), service.COLUMN_STRING)
+        self.assertEqual(infer([10 ** 20]), service.COLUMN_STRING)
+        self.assertEqual(infer([1.5, 2 ** 63]), service.COLUMN_STRING)
+        self.assertEqual(infer([None, float("nan")]), service.COLUMN_STRING)
+
+    def test_encodes_null_mask_and_values(self):
+        out = bytearray()
+        service.pack_column(out, "c", [5, None, None, None, None, None, None, None, 7])
+
+        name_length, = struct.unpack_from("<I", out, 0)
+        self.assertEqual(out[4:4 + name_length], b"c")
+
+        offset = 4 + name_length
+        self.assertEqual(out[offset], service.COLUMN_INT64)
+        self.assertEqual(out[offset + 1:offset + 3], bytes([0b11111110, 0b00000000]))
+        self.assertEqual(struct.unpack_from("<9q", out, offset + 3), (5, 0, 0, 0, 0, 0, 0, 0, 7))
+
+    def test_matches_the_java_decoder_fixture(self):
+        _, data = self.encode(fixture_workbook())
+
+        if os.environ.get("REGENERATE_FIXTURES") == "1":
+            FIXTURE_PATH.parent.mkdir(parents=True, exist_ok=True)
+            FIXTURE_PATH.write_bytes(data)
+
+        self.assertEqual(data, FIXTURE_PATH.read_bytes())
+
+if __name__ == "__main__":
+    unittest.main()